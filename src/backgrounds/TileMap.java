@@ -1,9 +1,19 @@
 package backgrounds;
 
 import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
+import graphic.Sprite;
 import graphic.SpriteBank;
+import graphic.SpriteDrawer;
+import handleds.Collidable;
 import handlers.ActorHandler;
 import handlers.CollidableHandler;
 import handlers.DrawableHandler;
@@ -14,7 +24,16 @@ import drawnobjects.DimensionalDrawnObject;
 /**
  * Tilemaps hold a certain number of tiles. Tilemaps can be created using tables 
  * that tell which values to use. Tilemaps must be initialized before use and 
- * cleared or killed afterwards.
+ * cleared or killed afterwards.<p>
+ *
+ * The map is divided into chunks that are drawn into images the first time 
+ * they are shown. After that, each chunk is drawn with a single image until 
+ * one of its tiles changes. Animated tiles are drawn separately on top of 
+ * the chunks.<p>
+ *
+ * Each tile may also be given a solidity and a material. If the solidities 
+ * are given, only the solid tiles collide with points. Otherwise the whole 
+ * map acts as a single box.
  *
  * @author Mikko Hilpinen.
  *         Created 9.7.2013.
@@ -23,12 +42,28 @@ public class TileMap extends DimensionalDrawnObject
 {
 	// ATTRIBUTES	------------------------------------------------------
 	
+	/**
+	 * How large the chunks the map is divided into are at most (pixels)
+	 */
+	public static final int CHUNKSIZE = 512;
+	
 	private int width, height, tilewidth, tileheight;
 	private short[] bankindexes, rotations, xscales, yscales, nameindexes;
-	private boolean initialized;
-	private DrawableHandler tiledrawer, parentdrawer;
+	private short[] materials; // Null if the tiles have no materials
+	private boolean[] solidities; // Null if the whole map is solid
+	private volatile boolean initialized;
 	private ActorHandler tileanimator;
 	
+	private ArrayList<SpriteBank> banks;
+	private ArrayList<String> texturenames;
+	private Sprite[] sprites; // The sprite of each tile (null if empty)
+	private int chunkcolumns, chunkrows; // How many tiles there are in a chunk
+	private int horizontalchunks, verticalchunks;
+	private BufferedImage[] chunkimages; // Null until the chunk is drawn
+	private int[][] animatedtiles; // The animated tiles in each chunk
+	private HashMap<Sprite, SpriteDrawer> animators;
+	private HashMap<Sprite, BufferedImage[]> animationframes; // Tile sized
+	
 	
 	// CONSTRUCTOR	------------------------------------------------------
 	
@@ -67,6 +102,47 @@ public class TileMap extends DimensionalDrawnObject
 			int width, int height, int tilewidth, int tileheight, 
 			short[] bankindexes, short[] rotations, short[] xscales, 
 			short[] yscales, short[] nameindexes)
+	{
+		this(x, y, drawer, animator, collidablehandler, width, height, 
+				tilewidth, tileheight, bankindexes, rotations, xscales, yscales, 
+				nameindexes, null, null);
+	}
+	
+	/**
+	 * Creates a new uninitialized tilemap where each tile has its own 
+	 * solidity and material.
+	 * 
+	 * @param x The tilemap's top-left x-coordinate
+	 * @param y The tilemap's top-left y-coordinate
+	 * @param drawer The drawablehandler that will draw the tiles in the map
+	 * @param animator The actorhandler that will animate the tiles (optional)
+	 * @param collidablehandler The collidableHandler that will handle the map's 
+	 * collision checking (optional)
+	 * @param width How many tiles the map holds horzontally
+	 * @param height How many tiles the map holds vertically
+	 * @param tilewidth How wide the tiles are (in pixels)
+	 * @param tileheight How high the tiles are (in pixels)
+	 * @param bankindexes A table telling which index for a spritebank is 
+	 * used in which tile
+	 * @param rotations A table telling how much each tile is rotated
+	 * @param xscales A table telling how the tiles are flipped around the x-axis
+	 * @param yscales A table telling how the tiles are flipped around the y-axis
+	 * @param nameindexes A table telling which index is used for each tile to 
+	 * find their spritename in a spritebank
+	 * @param solidities A table telling which tiles collide with points (null 
+	 * if the whole map should collide)
+	 * @param materials A table telling which material each tile is made of. 
+	 * The meaning of the values is up to the game (null if the tiles have 
+	 * no materials) 
+	 * (The size of each table must be the same as the number of tiles in the 
+	 * map (= <b>width</b> * <b>height</b>))
+	 */
+	public TileMap(int x, int y, DrawableHandler drawer, ActorHandler animator, 
+			CollidableHandler collidablehandler, 
+			int width, int height, int tilewidth, int tileheight, 
+			short[] bankindexes, short[] rotations, short[] xscales, 
+			short[] yscales, short[] nameindexes, boolean[] solidities, 
+			short[] materials)
 	{
 		super(x, y, DepthConstants.BOTTOM - 5, true, CollisionType.BOX, drawer, 
 				collidablehandler);
@@ -82,9 +158,9 @@ public class TileMap extends DimensionalDrawnObject
 		this.xscales = xscales;
 		this.yscales = yscales;
 		this.nameindexes = nameindexes;
+		this.solidities = solidities;
+		this.materials = materials;
 		
-		this.parentdrawer = drawer;
-		this.tiledrawer = null;
 		// Only uses animation if actorhandler was specified
 		if (animator != null)
 			this.tileanimator = new ActorHandler(false, animator);
@@ -109,18 +185,53 @@ public class TileMap extends DimensionalDrawnObject
 	}
 
 	@Override
-	public void drawSelfBasic(Graphics2D g2d)
+	public synchronized void drawSelfBasic(Graphics2D g2d)
 	{
-		// Is never used
-	}
-	
-	@Override
-	public void drawSelf(Graphics2D g2d)
-	{	
 		// Draws the tiles if they are initialized
-		if (this.initialized)
-			this.tiledrawer.drawSelf(g2d);
-		// Doesn't draw the map itself so no drawSelfBasic is called
+		if (!this.initialized)
+			return;
+		
+		// Only draws the chunks that are inside the drawn area
+		int chunkwidth = this.chunkcolumns * this.tilewidth;
+		int chunkheight = this.chunkrows * this.tileheight;
+		Rectangle area = getDrawnArea(g2d);
+		
+		int minchunkx = 0;
+		int minchunky = 0;
+		int maxchunkx = this.horizontalchunks - 1;
+		int maxchunky = this.verticalchunks - 1;
+		
+		if (area != null)
+		{
+			minchunkx = Math.max(minchunkx, 
+					(int) Math.floor(area.getMinX() / chunkwidth));
+			minchunky = Math.max(minchunky, 
+					(int) Math.floor(area.getMinY() / chunkheight));
+			maxchunkx = Math.min(maxchunkx, 
+					(int) Math.floor(area.getMaxX() / chunkwidth));
+			maxchunky = Math.min(maxchunky, 
+					(int) Math.floor(area.getMaxY() / chunkheight));
+		}
+		
+		for (int chunky = minchunky; chunky <= maxchunky; chunky++)
+		{
+			for (int chunkx = minchunkx; chunkx <= maxchunkx; chunkx++)
+			{
+				int chunk = chunky * this.horizontalchunks + chunkx;
+				
+				g2d.drawImage(getChunkImage(chunk), chunkx * chunkwidth, 
+						chunky * chunkheight, null);
+				
+				// Draws the animated tiles on top of the chunk
+				int[] animated = this.animatedtiles[chunk];
+				for (int i = 0; i < animated.length; i++)
+				{
+					Sprite sprite = this.sprites[animated[i]];
+					drawTile(g2d, animated[i], this.animationframes.get(sprite)[
+							this.animators.get(sprite).getImageIndex()], 0, 0);
+				}
+			}
+		}
 	}
 	
 	@Override
@@ -133,6 +244,8 @@ public class TileMap extends DimensionalDrawnObject
 		this.xscales = null;
 		this.yscales = null;
 		this.nameindexes = null;
+		this.solidities = null;
+		this.materials = null;
 		
 		if (this.tileanimator != null)
 			this.tileanimator.kill();
@@ -147,6 +260,23 @@ public class TileMap extends DimensionalDrawnObject
 		return super.isVisible() && this.initialized;
 	}
 	
+	@Override
+	public Collidable pointCollides(int x, int y)
+	{
+		boolean[] solidities = this.solidities;
+		
+		// Without the solidities, the whole map collides
+		if (solidities == null)
+			return super.pointCollides(x, y);
+		
+		int index = getTileIndex(x, y);
+		
+		if (index >= 0 && solidities[index])
+			return this;
+		else
+			return null;
+	}
+	
 	@Override
 	public int getWidth()
 	{
@@ -200,9 +330,108 @@ public class TileMap extends DimensionalDrawnObject
 		this.tileheight = tileheight;
 	}
 	
+	/**
+	 * Tells which material is at the given point
+	 * 
+	 * @param x The x-coordinate of the point (absolute pixel)
+	 * @param y The y-coordinate of the point (absolute pixel)
+	 * @return The material of the tile at the point or -1 if the point is 
+	 * outside the map or the tiles have no materials
+	 */
+	public short getMaterial(int x, int y)
+	{
+		short[] materials = this.materials;
+		
+		if (materials == null)
+			return -1;
+		
+		int index = getTileIndex(x, y);
+		
+		if (index >= 0)
+			return materials[index];
+		else
+			return -1;
+	}
+	
 	
 	// OTHER METHODS	-------------------------------------------------
 	
+	/**
+	 * Changes a single tile in the map. The chunk the tile is in is drawn 
+	 * again the next time it is shown.
+	 * 
+	 * @param column The column of the tile
+	 * @param row The row of the tile
+	 * @param bankindex The index of the spritebank used in the tile (negative 
+	 * if the tile should be empty)
+	 * @param nameindex The index of the tile's spritename (negative if the 
+	 * tile should be empty)
+	 * @param rotation How much the tile is rotated (degrees)
+	 * @param xscale How the tile is flipped around the x-axis
+	 * @param yscale How the tile is flipped around the y-axis
+	 */
+	public synchronized void setTile(int column, int row, short bankindex, 
+			short nameindex, short rotation, short xscale, short yscale)
+	{
+		if (this.bankindexes == null || column < 0 || column >= this.width || 
+				row < 0 || row >= this.height)
+			return;
+		
+		int index = row * this.width + column;
+		this.bankindexes[index] = bankindex;
+		this.nameindexes[index] = nameindex;
+		this.rotations[index] = rotation;
+		this.xscales[index] = xscale;
+		this.yscales[index] = yscale;
+		
+		// Initialized maps need to update the chunk as well
+		if (this.initialized)
+		{
+			this.sprites[index] = findSprite(index);
+			updateChunk(column / this.chunkcolumns, row / this.chunkrows);
+		}
+	}
+	
+	/**
+	 * Changes the solidity and the material of a single tile. If the tiles 
+	 * didn't have solidities or materials before, the other tiles are given 
+	 * the default values (solid and -1).
+	 * 
+	 * @param column The column of the tile
+	 * @param row The row of the tile
+	 * @param solid Should the tile collide with points
+	 * @param material The material of the tile
+	 */
+	public synchronized void setTileCollision(int column, int row, 
+			boolean solid, short material)
+	{
+		if (this.bankindexes == null || column < 0 || column >= this.width || 
+				row < 0 || row >= this.height)
+			return;
+		
+		int index = row * this.width + column;
+		
+		if (this.solidities == null)
+		{
+			boolean[] solidities = new boolean[this.width * this.height];
+			Arrays.fill(solidities, true);
+			solidities[index] = solid;
+			this.solidities = solidities;
+		}
+		else
+			this.solidities[index] = solid;
+		
+		if (this.materials == null)
+		{
+			short[] materials = new short[this.width * this.height];
+			Arrays.fill(materials, (short) -1);
+			materials[index] = material;
+			this.materials = materials;
+		}
+		else
+			this.materials[index] = material;
+	}
+	
 	/**
 	 * Clears the map of tiles, freeing the used memory. 
 	 * The tiles can be recreated with the initialize method.
@@ -211,13 +440,34 @@ public class TileMap extends DimensionalDrawnObject
 	 */
 	public void clear()
 	{
-		// Kills all the tiles and sets the map into uninitialized state
-		this.initialized = false;
-		if (this.tiledrawer != null)
+		// Releases the chunks and sets the map into uninitialized state
+		boolean wasinitialized;
+		
+		synchronized (this)
 		{
-			this.tiledrawer.kill();
-			this.tiledrawer = null;
+			wasinitialized = this.initialized;
+			this.initialized = false;
+			
+			if (this.animators != null)
+			{
+				for (SpriteDrawer animator : this.animators.values())
+				{
+					animator.kill();
+				}
+			}
+			
+			this.banks = null;
+			this.texturenames = null;
+			this.sprites = null;
+			this.chunkimages = null;
+			this.animatedtiles = null;
+			this.animators = null;
+			this.animationframes = null;
 		}
+		
+		// Uninitialized maps are invisible
+		if (wasinitialized)
+			informVisibilityChange();
 	}
 	
 	/**
@@ -233,40 +483,235 @@ public class TileMap extends DimensionalDrawnObject
 	public void initialize(ArrayList<SpriteBank> banks, 
 			ArrayList<String> texturenames)
 	{
-		// If the map was already initialized, does nothing
-		if (this.initialized)
-			return;
+		synchronized (this)
+		{
+			// If the map was already initialized, does nothing
+			if (this.initialized || this.bankindexes == null)
+				return;
 		
-		// Initializes the tiledrawer
-		this.tiledrawer = new DrawableHandler(false, false, getDepth(), 
-				this.parentdrawer);
+			this.banks = banks;
+			this.texturenames = texturenames;
+			this.animators = new HashMap<Sprite, SpriteDrawer>();
+			this.animationframes = new HashMap<Sprite, BufferedImage[]>();
 		
-		// Creates all the tiles
-		for (int i = 0; i < this.width * this.height; i++)
+			// Finds the sprites used in the tiles
+			this.sprites = new Sprite[this.width * this.height];
+			for (int i = 0; i < this.sprites.length; i++)
+			{
+				this.sprites[i] = findSprite(i);
+			}
+			
+			// Divides the map into chunks
+			this.chunkcolumns = Math.max(1, Math.min(this.width, 
+					CHUNKSIZE / Math.max(1, this.tilewidth)));
+			this.chunkrows = Math.max(1, Math.min(this.height, 
+					CHUNKSIZE / Math.max(1, this.tileheight)));
+			this.horizontalchunks = 
+					(this.width + this.chunkcolumns - 1) / this.chunkcolumns;
+			this.verticalchunks = 
+					(this.height + this.chunkrows - 1) / this.chunkrows;
+			this.chunkimages = new BufferedImage[this.horizontalchunks * 
+					this.verticalchunks];
+			this.animatedtiles = new int[this.chunkimages.length][];
+			
+			for (int chunky = 0; chunky < this.verticalchunks; chunky++)
+			{
+				for (int chunkx = 0; chunkx < this.horizontalchunks; chunkx++)
+				{
+					updateChunk(chunkx, chunky);
+				}
+			}
+			
+			this.initialized = true;
+		}
+		
+		// Initialized maps become visible
+		informVisibilityChange();
+	}
+	
+	// Returns the index of the tile at the given absolute point or -1 if the 
+	// point is outside the map
+	private int getTileIndex(int x, int y)
+	{
+		double relativex, relativey;
+		
+		// Untransformed maps only need to be moved
+		if (getAngle() == 0 && getXScale() == 1 && getYScale() == 1)
 		{
-			// If the bankindex or nameindex is negative, that means that the 
-			// tile should be ignored
-			if (this.bankindexes[i] < 0 || this.nameindexes[i] < 0)
-				continue;
+			relativex = x - getX();
+			relativey = y - getY();
+		}
+		else
+		{
+			Point negated = negateTransformations(x, y);
+			relativex = negated.x;
+			relativey = negated.y;
+		}
+		
+		if (relativex < 0 || relativey < 0)
+			return -1;
+		
+		int column = (int) relativex / this.tilewidth;
+		int row = (int) relativey / this.tileheight;
+		
+		if (column >= this.width || row >= this.height)
+			return -1;
+		
+		return row * this.width + column;
+	}
+	
+	// Returns the sprite used in the tile or null if the tile is empty
+	private Sprite findSprite(int index)
+	{
+		// If the bankindex or nameindex is negative, that means that the 
+		// tile should be ignored
+		if (this.bankindexes[index] < 0 || this.nameindexes[index] < 0)
+			return null;
+		
+		return this.banks.get(this.bankindexes[index]).getSprite(
+				this.texturenames.get(this.nameindexes[index]));
+	}
+	
+	// Finds the animated tiles in the chunk and makes the chunk drawn again
+	private void updateChunk(int chunkx, int chunky)
+	{
+		int chunk = chunky * this.horizontalchunks + chunkx;
+		ArrayList<Integer> animated = new ArrayList<Integer>();
+		
+		for (int row = chunky * this.chunkrows; row < Math.min(this.height, 
+				(chunky + 1) * this.chunkrows); row++)
+		{
+			for (int column = chunkx * this.chunkcolumns; column < Math.min(
+					this.width, (chunkx + 1) * this.chunkcolumns); column++)
+			{
+				int index = row * this.width + column;
 			
-			int x = (int) getX() + (i % this.height) * this.tilewidth + 
-					this.tilewidth / 2;
-			int y = (int) getY() + (i / this.width) * this.tileheight + 
-					this.tileheight / 2;
+				if (isAnimated(this.sprites[index]))
+				{
+					animated.add(index);
 			
-			Tile newtile = new Tile(x, y, this.tiledrawer, this.tileanimator, 
-					banks.get(this.bankindexes[i]), 
-					texturenames.get(this.nameindexes[i]), 
-					this.tilewidth, this.tileheight);
+					// The tiles with the same sprite share the animation
+					if (!this.animators.containsKey(this.sprites[index]))
+						createAnimation(this.sprites[index]);
+				}
+			}
+		}
 			
-			// Rotates and scales the tile
-			newtile.setAngle(this.rotations[i]);
-			newtile.scale(this.xscales[i], this.yscales[i]);
+		this.animatedtiles[chunk] = new int[animated.size()];
+		for (int i = 0; i < animated.size(); i++)
+		{
+			this.animatedtiles[chunk][i] = animated.get(i);
+		}
 			
-			// Also changes the object's position so that the starting position 
-			// becomes the left corner
-			if (newtile.getOriginX() != 0 || newtile.getOriginY() != 0)
-				newtile.addPosition(-newtile.getOriginX(), -newtile.getOriginY());
+		this.chunkimages[chunk] = null;
+	}
+	
+	// Creates the animator for the sprite and scales its frames to the 
+	// size of a tile so that they are faster to draw
+	private void createAnimation(Sprite sprite)
+	{
+		BufferedImage[] frames = new BufferedImage[sprite.getImageNumber()];
+		
+		for (int i = 0; i < frames.length; i++)
+		{
+			frames[i] = new BufferedImage(Math.max(1, this.tilewidth), 
+					Math.max(1, this.tileheight), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2d = frames[i].createGraphics();
+			g2d.drawImage(sprite.getSubImage(i), 0, 0, frames[i].getWidth(), 
+					frames[i].getHeight(), null);
+			g2d.dispose();
+		}
+		
+		this.animationframes.put(sprite, frames);
+		this.animators.put(sprite, new SpriteDrawer(sprite, this.tileanimator));
+	}
+	
+	// Returns the image of the chunk, drawing it first if necessary
+	private BufferedImage getChunkImage(int chunk)
+	{
+		if (this.chunkimages[chunk] != null)
+			return this.chunkimages[chunk];
+		
+		int chunkx = chunk % this.horizontalchunks;
+		int chunky = chunk / this.horizontalchunks;
+		int mincolumn = chunkx * this.chunkcolumns;
+		int minrow = chunky * this.chunkrows;
+		int maxcolumn = Math.min(this.width, mincolumn + this.chunkcolumns);
+		int maxrow = Math.min(this.height, minrow + this.chunkrows);
+		
+		BufferedImage image = new BufferedImage(
+				Math.max(1, (maxcolumn - mincolumn) * this.tilewidth), 
+				Math.max(1, (maxrow - minrow) * this.tileheight), 
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = image.createGraphics();
+		
+		// Draws the tiles that aren't animated
+		for (int row = minrow; row < maxrow; row++)
+		{
+			for (int column = mincolumn; column < maxcolumn; column++)
+			{
+				int index = row * this.width + column;
+				Sprite sprite = this.sprites[index];
+				
+				if (sprite != null && !isAnimated(sprite))
+					drawTile(g2d, index, sprite.getSubImage(0), 
+							mincolumn * this.tilewidth, minrow * this.tileheight);
+			}
+		}
+		
+		g2d.dispose();
+		this.chunkimages[chunk] = image;
+		
+		return image;
+	}
+	
+	// Draws a single tile so that it fills its cell. The offset is subtracted 
+	// from the tile's position.
+	private void drawTile(Graphics2D g2d, int index, BufferedImage image, 
+			int offsetx, int offsety)
+	{
+		AffineTransform trans = g2d.getTransform();
+		
+		// Moves to the middle of the cell
+		g2d.translate((index % this.width) * this.tilewidth + 
+				this.tilewidth / 2.0 - offsetx, (index / this.width) *
+				this.tileheight + this.tileheight / 2.0 - offsety);
+		// Rotates and scales the tile
+		g2d.rotate(Math.toRadians(360 - this.rotations[index]));
+		g2d.scale(this.xscales[index] * this.tilewidth / 
+				(double) image.getWidth(), this.yscales[index] *
+				this.tileheight / (double) image.getHeight());
+		// The image is drawn around the middle of the cell
+		g2d.drawImage(image, -image.getWidth() / 2, -image.getHeight() / 2, 
+				null);
+		
+		g2d.setTransform(trans);
+	}
+	
+	private boolean isAnimated(Sprite sprite)
+	{
+		// Tiles can only be animated if there's an animator
+		return sprite != null && this.tileanimator != null && 
+				sprite.getImageNumber() > 1;
+	}
+	
+	// Returns the area that can be drawn into in the map's own coordinates 
+	// (null if the area can't be determined)
+	private static Rectangle getDrawnArea(Graphics2D g2d)
+	{
+		Rectangle clip = g2d.getClipBounds();
+		if (clip != null)
+			return clip;
+		
+		// Without a clip, the whole drawing surface may be drawn into
+		try
+		{
+			return g2d.getTransform().createInverse().createTransformedShape(
+					g2d.getDeviceConfiguration().getBounds()).getBounds();
+		}
+		catch (NoninvertibleTransformException e)
+		{
+			return null;
 		}
 	}
 }
@@ -14,9 +14,8 @@ import helpAndEnums.CollisionType;
 import helpAndEnums.DepthConstants;
 import helpAndEnums.DoublePoint;
 import helpAndEnums.HelpMath;
-import drawnobjects.CollidingDrawnObject;
-import drawnobjects.DimensionalDrawnObject;
 import drawnobjects.DrawnObject;
+import drawnobjects.DrawnObjectState;
 import drawnobjects.BasicPhysicDrawnObject;
 
 /**
@@ -92,15 +91,16 @@ public class BasicCamera extends BasicPhysicDrawnObject
 	{
 		// Uses transformations that are opposite to the usual transformations
 		AffineTransform trans = g2d.getTransform();
+		DrawnObjectState state = getDrawnState(g2d);
 		
 		// and translates the origin to the right position
 		g2d.translate(getOriginX(), getOriginY());
 		// scales it depending on it's xscale and yscale
-		g2d.scale(1/getXScale(), 1/getYScale());
+		g2d.scale(1/state.getXScale(), 1/state.getYScale());
 		// rotates it depending on its angle
-		g2d.rotate(Math.toRadians((getAngle())));
+		g2d.rotate(Math.toRadians((state.getAngle())));
 		// Translates the sprite to the object's position
-		g2d.translate(-getX(), -getY());
+		g2d.translate(-state.getX(), -state.getY());
 		
 		// Finally draws the object
 		drawSelfBasic(g2d);
@@ -110,6 +110,14 @@ public class BasicCamera extends BasicPhysicDrawnObject
 		//drawSelfAsContainer(g2d);
 	}
 	
+	@Override
+	public void publishState()
+	{
+		// Also publishes the states of the objects the camera shows
+		super.publishState();
+		this.followerhandler.publishStates();
+	}
+	
 	@Override
 	public int getWidth()
 	{
@@ -129,6 +137,13 @@ public class BasicCamera extends BasicPhysicDrawnObject
 		// Doesn't do anything upon collision
 	}
 	
+	@Override
+	public void onCollision(double[] colcoordinates, int pointnumber, 
+			Collidable collided)
+	{
+		// Doesn't do anything upon collision
+	}
+	
 	
 	// OTHER METHODS	--------------------------------------------------
 	
@@ -152,6 +167,24 @@ public class BasicCamera extends BasicPhysicDrawnObject
 		this.listenerhandler.addListener(listener);
 	}
 	
+	/**
+	 * Finds the objects from the grid that may be shown on the camera. The 
+	 * camera's drawn state is used so the result matches what is drawn.
+	 * 
+	 * @param grid The grid that holds the objects
+	 * @param g2d The graphics object the objects are drawn with
+	 * @return The objects that may be shown, in the order they should be 
+	 * drawn in
+	 */
+	protected DrawnObject[] getObjectsInView(SpatialGrid grid, Graphics2D g2d)
+	{
+		DrawnObjectState state = getDrawnState(g2d);
+		
+		return grid.getObjectsInArea(state.getX(), state.getY(), 
+				this.screenWidth * state.getXScale(), 
+				this.screenHeight * state.getYScale(), state.getAngle());
+	}
+	
 	private void informStatus()
 	{
 		this.listenerhandler.informCameraPosition(
@@ -160,52 +193,4 @@ public class BasicCamera extends BasicPhysicDrawnObject
 				(int) Math.abs(this.screenHeight * getYScale()), 
 				(int) HelpMath.checkDirection(getAngle()));
 	}
-	
-	/**
-	 * Tells whether an object should be drawn on the camera or not
-	 *
-	 * @param d The object that may be drawn
-	 * @return Should the object be drawn
-	 */
-	protected boolean objectShouldBeDrawn(DrawnObject d)
-	{
-		// If the drawnobject is collidingdrawnobject, checks the drawing more 
-		// carefully
-		if (d instanceof CollidingDrawnObject)
-		{
-			CollidingDrawnObject cd = (CollidingDrawnObject) d;
-			
-			DoublePoint[] collisionpoints = cd.getCollisionPoints();
-			
-			// Does NOT check if the object is solid or not! (used for drawing 
-			// so the visible-status is used instead)
-			// Invisible objects are never drawn
-			if (!cd.isVisible())
-				return false;
-						
-			// Returns true if any of the collisionpoints collides
-			for (int i = 0; i < collisionpoints.length; i++)
-			{
-				if (pointCollides((int) collisionpoints[i].getX(), 
-						(int) collisionpoints[i].getY()) != null)
-					return true;
-			}
-			
-			return false;
-		}
-		// Dimensionalobjects are drawn if they are near the camera
-		// Draws a bit more objects than necessary
-		else if (d instanceof DimensionalDrawnObject)
-		{
-			DimensionalDrawnObject dd = (DimensionalDrawnObject) d;
-			
-			// Checks if it's possible that any point of the object would be shown
-			double maxrange = dd.getMaxRangeFromOrigin() + getMaxRangeFromOrigin();
-			
-			return HelpMath.pointDistance(-getX(), -getY(), dd.getX(), dd.getY()) 
-					< maxrange;
-		}
-		// Other objects are always drawn
-		return true;
-	}
 }
@@ -3,13 +3,15 @@ package camera;
 import java.awt.Graphics2D;
 
 import drawnobjects.DrawnObject;
+import handleds.Drawable;
 import handlers.DrawnObjectHandler;
 import helpAndEnums.DepthConstants;
 
 /**
  * This class follows the camera and draws objects. It only draws objects that 
- * will be shown on screen. The later only works with CollidingDrawnObjects and 
- * dimensionaldrawnobjects since they can be checked.
+ * will be shown on screen. The later only works with dimensionaldrawnobjects 
+ * since their size is known. The objects are kept in a spatial grid so that 
+ * only the objects near the camera need to be checked.
  *
  * @author Mikko Hilpinen.
  *         Created 16.6.2013.
@@ -19,7 +21,13 @@ public class CameraDrawer extends DrawnObjectHandler
 {
 	// ATTRIBUTES	----------------------------------------------------
 	
+	/**
+	 * The size of the grid cells used by default (pxl)
+	 */
+	public static final int DEFAULTCELLSIZE = 256;
+	
 	private BasicCamera camera;
+	private SpatialGrid grid;
 	
 	
 	// CONSTRUCTOR	----------------------------------------------------
@@ -34,11 +42,28 @@ public class CameraDrawer extends DrawnObjectHandler
 	 * which objects should be drawn
 	 */
 	public CameraDrawer(boolean autodeath, BasicCamera camera)
+	{
+		this(autodeath, camera, DEFAULTCELLSIZE);
+	}
+	
+	/**
+	 * Creates a new cameradrawer. The drawer is not added to any handler 
+	 * and must be drawn manually with the drawSelf() method.
+	 * 
+	 * @param autodeath Will the drawer die when it doesn't have anything to 
+	 * draw anymore
+	 * @param camera The camera that draws the drawer and that is used to check 
+	 * which objects should be drawn
+	 * @param cellsize The size of the cells the drawn area is divided into 
+	 * (pxl). The cells should be about as large as the largest common objects.
+	 */
+	public CameraDrawer(boolean autodeath, BasicCamera camera, int cellsize)
 	{
 		super(autodeath, true, DepthConstants.BACK, null);
 		
 		// Initializes attributes
 		this.camera = camera;
+		this.grid = new SpatialGrid(cellsize);
 	}
 	
 	
@@ -47,13 +72,30 @@ public class CameraDrawer extends DrawnObjectHandler
 	@Override
 	public void drawSelf(Graphics2D g2d)
 	{
+		// Unpublished content is kept up to date while drawing
+		if (!isPublished())
+			removeDeadHandleds();
+		
 		// Only draws objects that are within the camera's range
-		for (int i = 0; i < getHandledNumber(); i++)
+		DrawnObject[] drawn = this.camera.getObjectsInView(this.grid, g2d);
+		
+		for (int i = 0; i < drawn.length; i++)
 		{
-			DrawnObject d = getDrawnObject(i);
-			// Only draws object inside the camera's vision
-			if (this.camera.objectShouldBeDrawn(d))
-				d.drawSelf(g2d);
+			callDraw(drawn[i], g2d);
 		}
 	}
+	
+	@Override
+	protected void onHandledAdded(Drawable d)
+	{
+		super.onHandledAdded(d);
+		this.grid.add((DrawnObject) d);
+	}
+	
+	@Override
+	protected void onHandledRemoved(Drawable d)
+	{
+		super.onHandledRemoved(d);
+		this.grid.remove((DrawnObject) d);
+	}
 }
@@ -0,0 +1,436 @@
+package camera;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import listeners.TransformationListener;
+import drawnobjects.DimensionalDrawnObject;
+import drawnobjects.DrawnObject;
+
+/**
+ * SpatialGrid divides the game world into square cells and keeps track of 
+ * which cell each drawnobject is in. This way the objects inside a certain 
+ * area can be found without going through all of the objects in the world.<p>
+ *
+ * Each object is placed to the cell its position is in. Objects that are 
+ * larger than a cell or whose size isn't known are kept separately and are 
+ * always checked. The objects inform the grid when they move, but the grid is 
+ * only updated the next time it is searched.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see CameraDrawer
+ */
+public class SpatialGrid implements TransformationListener
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private int cellsize;
+	private long nextorder;
+	private HashMap<Long, ArrayList<GridEntry>> cells;
+	private ConcurrentHashMap<DrawnObject, GridEntry> entries;
+	private ArrayList<GridEntry> largeentries;
+	private ConcurrentLinkedQueue<GridEntry> movedentries;
+	private ArrayList<GridEntry> found;
+	private DrawOrderComparator comparator;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new empty grid
+	 * 
+	 * @param cellsize The width and height of a single cell (pxl). Objects 
+	 * wider than a cell are always checked.
+	 */
+	public SpatialGrid(int cellsize)
+	{
+		// Initializes attributes
+		this.cellsize = Math.max(1, cellsize);
+		this.nextorder = 0;
+		this.cells = new HashMap<Long, ArrayList<GridEntry>>();
+		this.entries = new ConcurrentHashMap<DrawnObject, GridEntry>();
+		this.largeentries = new ArrayList<GridEntry>();
+		this.movedentries = new ConcurrentLinkedQueue<GridEntry>();
+		this.found = new ArrayList<GridEntry>();
+		this.comparator = new DrawOrderComparator();
+	}
+	
+	
+	// IMPLEMENTED METHODS	---------------------------------------------
+	
+	@Override
+	public void onTransformationChange(DrawnObject source)
+	{
+		// The object is moved to its new cell when the grid is searched. 
+		// Each entry is queued only once between the searches.
+		GridEntry entry = this.entries.get(source);
+		if (entry != null && entry.markMoved())
+			this.movedentries.add(entry);
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return The width and height of a single cell (pxl)
+	 */
+	public int getCellSize()
+	{
+		return this.cellsize;
+	}
+	
+	/**
+	 * @return How many objects there are in the grid
+	 */
+	public int size()
+	{
+		return this.entries.size();
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Adds a new object to the grid. The grid will follow the object's 
+	 * movements until the object is removed.
+	 * 
+	 * @param d The object that is added to the grid
+	 */
+	public void add(DrawnObject d)
+	{
+		if (d == null)
+			return;
+		
+		synchronized (this)
+		{
+			if (this.entries.containsKey(d))
+				return;
+			
+			GridEntry entry = new GridEntry(d, this.nextorder++);
+			this.entries.put(d, entry);
+			place(entry);
+		}
+		
+		d.addTransformationListener(this);
+	}
+	
+	/**
+	 * Removes an object from the grid
+	 * 
+	 * @param d The object that is removed from the grid
+	 */
+	public void remove(DrawnObject d)
+	{
+		if (d == null)
+			return;
+		
+		d.removeTransformationListener(this);
+		
+		synchronized (this)
+		{
+			GridEntry entry = this.entries.remove(d);
+			
+			if (entry != null)
+				displace(entry);
+		}
+	}
+	
+	/**
+	 * Finds the objects that may be inside the given rectangle. The rectangle 
+	 * may be rotated around its center. A bit more objects may be returned 
+	 * than are actually inside the rectangle.
+	 * 
+	 * @param x The x-coordinate of the rectangle's center
+	 * @param y The y-coordinate of the rectangle's center
+	 * @param width The width of the rectangle
+	 * @param height The height of the rectangle
+	 * @param angle The angle of the rectangle in degrees (the same way 
+	 * drawnobjects use their angle)
+	 * @return The living objects inside the rectangle, from the deepest to 
+	 * the highest. The objects with the same depth are in the order they were 
+	 * added to the grid.
+	 */
+	public synchronized DrawnObject[] getObjectsInArea(double x, double y, 
+			double width, double height, double angle)
+	{
+		updateMovedObjects();
+		
+		double cos = Math.cos(Math.toRadians(angle));
+		double sin = Math.sin(Math.toRadians(angle));
+		double halfwidth = Math.abs(width) / 2;
+		double halfheight = Math.abs(height) / 2;
+		
+		// Calculates the area the rotated rectangle covers. The objects may 
+		// reach up to a cell outside their own cell
+		double xrange = halfwidth * Math.abs(cos) + halfheight * Math.abs(sin) + 
+				this.cellsize;
+		double yrange = halfwidth * Math.abs(sin) + halfheight * Math.abs(cos) + 
+				this.cellsize;
+		
+		int mincellx = getCellIndex(x - xrange);
+		int maxcellx = getCellIndex(x + xrange);
+		int mincelly = getCellIndex(y - yrange);
+		int maxcelly = getCellIndex(y + yrange);
+		
+		this.found.clear();
+		
+		for (int cellx = mincellx; cellx <= maxcellx; cellx++)
+		{
+			for (int celly = mincelly; celly <= maxcelly; celly++)
+			{
+				ArrayList<GridEntry> cell = this.cells.get(getKey(cellx, celly));
+				
+				if (cell == null)
+					continue;
+				
+				for (int i = 0; i < cell.size(); i++)
+				{
+					GridEntry entry = cell.get(i);
+					if (entry.isInside(x, y, halfwidth, halfheight, cos, sin))
+						this.found.add(entry);
+				}
+			}
+		}
+		
+		// The large objects are always checked
+		for (int i = 0; i < this.largeentries.size(); i++)
+		{
+			GridEntry entry = this.largeentries.get(i);
+			if (entry.isInside(x, y, halfwidth, halfheight, cos, sin))
+				this.found.add(entry);
+		}
+		
+		Collections.sort(this.found, this.comparator);
+		
+		DrawnObject[] objects = new DrawnObject[this.found.size()];
+		for (int i = 0; i < objects.length; i++)
+		{
+			objects[i] = this.found.get(i).getObject();
+		}
+		this.found.clear();
+		
+		return objects;
+	}
+	
+	private void updateMovedObjects()
+	{
+		GridEntry entry = null;
+		while ((entry = this.movedentries.poll()) != null)
+		{
+			// The moves made after this point are queued again
+			entry.clearMoved();
+			
+			// Removed objects and objects that stay in the same cell aren't 
+			// moved
+			if (this.entries.get(entry.getObject()) != entry)
+				continue;
+			
+			entry.update();
+			Long key = getCellKey(entry);
+			
+			if (key == null ? entry.getCellKey() != null : 
+					!key.equals(entry.getCellKey()))
+			{
+				displace(entry);
+				place(entry);
+			}
+		}
+	}
+	
+	private void place(GridEntry entry)
+	{
+		entry.update();
+		Long key = getCellKey(entry);
+		entry.setCellKey(key);
+		
+		// Objects larger than a cell aren't placed to the cells
+		if (key == null)
+		{
+			this.largeentries.add(entry);
+			return;
+		}
+		
+		ArrayList<GridEntry> cell = this.cells.get(key);
+		
+		if (cell == null)
+		{
+			cell = new ArrayList<GridEntry>();
+			this.cells.put(key, cell);
+		}
+		
+		cell.add(entry);
+	}
+	
+	private void displace(GridEntry entry)
+	{
+		Long key = entry.getCellKey();
+		
+		if (key == null)
+		{
+			this.largeentries.remove(entry);
+			return;
+		}
+		
+		ArrayList<GridEntry> cell = this.cells.get(key);
+		
+		if (cell == null)
+			return;
+		
+		cell.remove(entry);
+		
+		// Empty cells are removed
+		if (cell.isEmpty())
+			this.cells.remove(key);
+	}
+	
+	// Returns null for the objects that are too large for the cells
+	private Long getCellKey(GridEntry entry)
+	{
+		if (entry.getRadius() < 0 || entry.getRadius() > this.cellsize)
+			return null;
+		
+		return getKey(getCellIndex(entry.getObject().getX()), 
+				getCellIndex(entry.getObject().getY()));
+	}
+	
+	private int getCellIndex(double coordinate)
+	{
+		return (int) Math.floor(coordinate / this.cellsize);
+	}
+	
+	private static Long getKey(int cellx, int celly)
+	{
+		return ((long) cellx << 32) | (celly & 0xFFFFFFFFL);
+	}
+	
+	
+	// SUBCLASSES	------------------------------------------------------
+	
+	/**
+	 * GridEntry remembers where an object is in the grid and how large it is
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class GridEntry
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private DrawnObject object;
+		private long order;
+		private double radius; // Negative if the size isn't known
+		private Long cellkey; // Null if the object isn't in a cell
+		private AtomicBoolean moved; // Is the entry waiting to be moved
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public GridEntry(DrawnObject object, long order)
+		{
+			// Initializes attributes
+			this.object = object;
+			this.order = order;
+			this.radius = -1;
+			this.cellkey = null;
+			this.moved = new AtomicBoolean(false);
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		public DrawnObject getObject()
+		{
+			return this.object;
+		}
+		
+		public long getOrder()
+		{
+			return this.order;
+		}
+		
+		public double getRadius()
+		{
+			return this.radius;
+		}
+		
+		public Long getCellKey()
+		{
+			return this.cellkey;
+		}
+		
+		public void setCellKey(Long cellkey)
+		{
+			this.cellkey = cellkey;
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		// Returns true if the entry wasn't marked already
+		public boolean markMoved()
+		{
+			return this.moved.compareAndSet(false, true);
+		}
+		
+		public void clearMoved()
+		{
+			this.moved.set(false);
+		}
+		
+		public void update()
+		{
+			if (this.object instanceof DimensionalDrawnObject)
+				this.radius = Math.abs(((DimensionalDrawnObject)
+						this.object).getMaxRangeFromOrigin());
+			else
+				this.radius = -1;
+		}
+		
+		// Checks whether the object may reach inside the rotated rectangle
+		public boolean isInside(double x, double y, double halfwidth, 
+				double halfheight, double cos, double sin)
+		{
+			if (this.object.isDead())
+				return false;
+			if (this.radius < 0)
+				return true;
+			
+			// Rotates the position to the rectangle's own coordinates
+			double xdiff = this.object.getX() - x;
+			double ydiff = this.object.getY() - y;
+			double relativex = xdiff * cos - ydiff * sin;
+			double relativey = xdiff * sin + ydiff * cos;
+			
+			return Math.abs(relativex) <= halfwidth + this.radius && 
+					Math.abs(relativey) <= halfheight + this.radius;
+		}
+	}
+	
+	/**
+	 * DrawOrderComparator sorts the entries from the deepest to the highest
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class DrawOrderComparator implements Comparator<GridEntry>
+	{
+		@Override
+		public int compare(GridEntry first, GridEntry second)
+		{
+			int firstdepth = first.getObject().getDepth();
+			int seconddepth = second.getObject().getDepth();
+			
+			if (firstdepth != seconddepth)
+				return firstdepth > seconddepth ? -1 : 1;
+			if (first.getOrder() != second.getOrder())
+				return first.getOrder() < second.getOrder() ? -1 : 1;
+			return 0;
+		}
+	}
+}
@@ -1,10 +1,13 @@
 package common;
 
+import handleds.ObservableLogicalHandled;
 import handlers.KeyListenerHandler;
+import handlers.LogicalStateListeners;
 
 import java.awt.event.KeyEvent;
 
 import listeners.AdvancedKeyListener;
+import listeners.LogicalStateListener;
 
 /**
  * Inputreader listens to the keyboard and tries to form string depending 
@@ -13,12 +16,14 @@ import listeners.AdvancedKeyListener;
  * @author Mikko Hilpinen.
  *         Created 25.8.2013.
  */
-public class InputReader implements AdvancedKeyListener
+public class InputReader implements AdvancedKeyListener, 
+		ObservableLogicalHandled
 {
 	// ATTRIBUTES	-------------------------------------------------------
 	
 	private String input;
 	private boolean active, dead;
+	private LogicalStateListeners statelisteners;
 	
 	
 	// CONSTRUCTOR	------------------------------------------------------
@@ -35,6 +40,7 @@ public class InputReader implements AdvancedKeyListener
 		this.input = "";
 		this.active = true;
 		this.dead = false;
+		this.statelisteners = new LogicalStateListeners(this);
 		
 		// Adds the object to the handler if possible
 		if (keylistenerhandler != null)
@@ -93,14 +99,34 @@ public class InputReader implements AdvancedKeyListener
 	@Override
 	public boolean activate()
 	{
-		this.active = true;
+		if (!this.active)
+		{
+			this.active = true;
+			this.statelisteners.informActivityChange(this.active);
+		}
 		return true;
 	}
+	
+	@Override
+	public void addLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.add(listener);
+	}
+	
+	@Override
+	public void removeLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.remove(listener);
+	}
 
 	@Override
 	public boolean inactivate()
 	{
-		this.active = false;
+		if (this.active)
+		{
+			this.active = false;
+			this.statelisteners.informActivityChange(this.active);
+		}
 		return true;
 	}
 
@@ -1,8 +1,7 @@
 package drawnobjects;
 
 import java.awt.Point;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 
 import handlers.ActorHandler;
 import handlers.CollidableHandler;
@@ -24,8 +23,20 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 {
 	// ATTRIBUTES	------------------------------------------------------
 	
-	// Contains each moment affecting the object
-	private HashMap<Point, Double> moments;
+	// Contains each moment affecting the object. The moments are stored 
+	// in tables of the same length: the relative origin coordinates and the 
+	// rotation of each moment. The tables only grow when needed.
+	private int[] momentxs, momentys;
+	private double[] momentrotations;
+	private int momentnumber;
+	
+	// The mass properties are only recalculated when the object's scaling or 
+	// dimensions change. The other attributes tell the state they were 
+	// calculated in.
+	private double mass, momentofinertia;
+	private double massxscale, massyscale;
+	private int masswidth, massheight, massradius, massoriginx, massoriginy;
+	private CollisionType masscollisiontype;
 	
 	
 	// CONSTRUCTOR	------------------------------------------------------
@@ -55,7 +66,11 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 				collisionhandler, actorhandler);
 		
 		// Initializes attributes
-		this.moments = new HashMap<Point, Double>();
+		this.momentxs = new int[8];
+		this.momentys = new int[8];
+		this.momentrotations = new double[8];
+		this.momentnumber = 0;
+		this.masscollisiontype = null;
 	}
 	
 	
@@ -88,12 +103,12 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 	// IMPLEMENTED METHODS	----------------------------------------------
 	
 	@Override
-	public void act()
+	public void act(double steps)
 	{
-		super.act();
+		super.act(steps);
 		
-		implyMoments();
-		implyRotationFrictionToMoments();
+		implyMoments(steps);
+		implyRotationFrictionToMoments(steps);
 		checkMaxRotationForMoments();
 	}
 	
@@ -108,8 +123,10 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 	 */
 	protected double getMoment(Point origin)
 	{
-		if (this.moments.containsKey(origin))
-			return this.moments.get(origin);
+		int index = indexOfMoment(origin.x, origin.y);
+		
+		if (index >= 0)
+			return this.momentrotations[index];
 		else
 			return 0;
 	}
@@ -122,7 +139,46 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 	 */
 	protected void setMoment(Point origin, double moment)
 	{
-		this.moments.put(origin, moment);
+		int index = indexOfMoment(origin.x, origin.y);
+		
+		if (index >= 0)
+			this.momentrotations[index] = moment;
+		else
+			addNewMoment(origin.x, origin.y, moment);
+	}
+	
+	
+	/**
+	 * @return The mass of the object (volume * density). The mass is 
+	 * recalculated only when the object's scaling or size changes.
+	 * @see #resetMassProperties()
+	 */
+	public double getMass()
+	{
+		updateMassProperties();
+		return this.mass;
+	}
+	
+	/**
+	 * @return The object's moment of inertia around its origin 
+	 * (mass * pxl^2). The value is recalculated only when the object's 
+	 * scaling or size changes.
+	 * @see #resetMassProperties()
+	 */
+	public double getMomentOfInertia()
+	{
+		updateMassProperties();
+		return this.momentofinertia;
+	}
+	
+	/**
+	 * Makes the object recalculate its mass and moment of inertia the next 
+	 * time they are needed. This should be called if the object's z-height 
+	 * or density changes.
+	 */
+	protected void resetMassProperties()
+	{
+		this.masscollisiontype = null;
 	}
 	
 	
@@ -139,13 +195,15 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 		if (p == null)
 			return;
 		
+		int index = indexOfMoment(p.x, p.y);
+		
 		// If there is no moment affecting the given point, it is added as a 
 		// new moment
-		if (!this.moments.containsKey(p))
-			this.moments.put(p, force);
+		if (index < 0)
+			addNewMoment(p.x, p.y, force);
 		// Otherwise the old and the new moment are added together
 		else
-			this.moments.put(p, this.moments.get(p) + force);
+			this.momentrotations[index] += force;
 	}
 	
 	/**
@@ -153,7 +211,7 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 	 */
 	public void stopMoments()
 	{
-		this.moments.clear();
+		this.momentnumber = 0;
 	}
 	
 	/**
@@ -179,8 +237,8 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 		double forcedir = d.getCollisionForceDirection(collisionpoint.getAsPoint());
 		
 		// Calculates the actual amount of force applied to the object
-		Movement oppmovement = 
-				getMovement().getOpposingMovement().getDirectionalMovement(forcedir);
+		Movement oppmovement = getMovement().getOpposingMovement();
+		oppmovement.project(forcedir);
 		double opprotationforce = -HelpMath.getDirectionalForce(pixeldirection, 
 				pixelspeed, forcedir);
 		
@@ -328,65 +386,80 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 		// TODO: Check if this should be +90 or -90
 		
 		// Adds the basic rotation
-		Movement pixelmovement = Movement.createMovement(
-						HelpMath.pointDirection(getX(), getY(), pixel.getX(), 
-								pixel.getY()) + 90, getRotation());
+		Movement pixelmovement = new Movement(0, 0);
+		addRotationMovement(pixelmovement, getX(), getY(), pixel, 
+				getRotation());
 		// Adds movement caused by the moments
-		for (Point relmomentorigin: this.moments.keySet())
+		for (int i = 0; i < this.momentnumber; i++)
 		{
 			// Calculates the momentorigin's absolute position
-			DoublePoint absmomentorigin = transform(relmomentorigin.x, 
-					relmomentorigin.y);
+			DoublePoint absmomentorigin = transform(this.momentxs[i], 
+					this.momentys[i]);
 			// Adds the movement
-			pixelmovement = Movement.movementSum(pixelmovement, 
-					Movement.createMovement(
-					HelpMath.pointDirection(absmomentorigin.getX(), 
-					absmomentorigin.getY(), pixel.getX(), pixel.getY()) + 90, 
-					this.moments.get(relmomentorigin)));
+			addRotationMovement(pixelmovement, absmomentorigin.getX(), 
+					absmomentorigin.getY(), pixel, this.momentrotations[i]);
 		}
 		
 		return pixelmovement;
 	}
 	
+	// Adds the movement of a pixel that rotates around the given origin
+	private static void addRotationMovement(Movement movement, double originx, 
+			double originy, DoublePoint pixel, double rotation)
+	{
+		double xdiff = pixel.getX() - originx;
+		double ydiff = pixel.getY() - originy;
+		double range = Math.sqrt(xdiff * xdiff + ydiff * ydiff);
+		
+		// The pixel moves 90 degrees forward from the direction of the range
+		if (range == 0)
+			movement.add(0, -rotation);
+		else
+			movement.add(rotation * ydiff / range, -rotation * xdiff / range);
+	}
+	
 	// Rotates the object according to the moments affecting the object
-	private void implyMoments()
+	private void implyMoments(double steps)
 	{
 		// TODO: Take rotationfriction into account somewhere?
-		for (Point p: this.moments.keySet())
-			rotateAroundRelativePoint(this.moments.get(p), p);
+		for (int i = 0; i < this.momentnumber; i++)
+		{
+			rotateAroundRelativePoint(this.momentrotations[i] * steps, 
+					this.momentxs[i], this.momentys[i]);
+		}
 	}
 	
-	private void implyRotationFrictionToMoments()
+	private void implyRotationFrictionToMoments(double steps)
 	{
 		// If there are no moments, doesn't do anything
-		if (this.moments.isEmpty())
+		if (this.momentnumber == 0)
 			return;
-
-		ArrayList<Point> momentstobeended = new ArrayList<Point>();
 		
-		// Goes through all the moments
-		for (Point p: this.moments.keySet())
+		double friction = getRotationFriction() * steps;
+		int remaining = 0;
+		
+		// Goes through all the moments, moving the remaining ones to the 
+		// beginning of the tables
+		for (int i = 0; i < this.momentnumber; i++)
 		{
-			double f = this.moments.get(p);
+			double f = this.momentrotations[i];
 			
 			// If the moment has run out it is no longer recognised
-			if (Math.abs(f) < getRotationFriction())
-			{
-				momentstobeended.add(p);
+			if (Math.abs(f) < friction)
 				continue;
-			}
 			else if (f > 0)
-				f -= getRotationFriction();
+				f -= friction;
 			else
-				f += getRotationFriction();
+				f += friction;
 			
 			// Changes the moment
-			this.moments.put(p, f);
+			this.momentxs[remaining] = this.momentxs[i];
+			this.momentys[remaining] = this.momentys[i];
+			this.momentrotations[remaining] = f;
+			remaining ++;
 		}
 		
-		// Removes the unnecessary moments
-		for (int i = 0; i < momentstobeended.size(); i++)
-			this.moments.remove(momentstobeended.get(i));
+		this.momentnumber = remaining;
 	}
 	
 	private void checkMaxRotationForMoments()
@@ -395,34 +468,64 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 		if (getMaxRotation() < 0)
 			return;
 		
+		double maxrotation = getMaxRotation();
+		
 		// limits the moment(s) if needed
-		for (Point momentorigin: this.moments.keySet())
+		for (int i = 0; i < this.momentnumber; i++)
 		{
-			double moment = this.moments.get(momentorigin);
+			double moment = this.momentrotations[i];
 			
-			if (Math.abs(moment) > getMaxRotation())
-			{
-				if (moment < 0)
-					moment = -getMaxRotation();
-				else
-					moment = getMaxRotation();
-				
-				this.moments.put(momentorigin, moment);
-			}
+			if (moment < -maxrotation)
+				this.momentrotations[i] = -maxrotation;
+			else if (moment > maxrotation)
+				this.momentrotations[i] = maxrotation;
 		}
 	}
 	
+	// Returns -1 if there is no moment with the given origin
+	private int indexOfMoment(int x, int y)
+	{
+		for (int i = 0; i < this.momentnumber; i++)
+		{
+			if (this.momentxs[i] == x && this.momentys[i] == y)
+				return i;
+		}
+		
+		return -1;
+	}
+	
+	private void addNewMoment(int x, int y, double rotation)
+	{
+		// The tables grow if they are full
+		if (this.momentnumber == this.momentxs.length)
+		{
+			int capacity = this.momentxs.length * 2;
+			this.momentxs = Arrays.copyOf(this.momentxs, capacity);
+			this.momentys = Arrays.copyOf(this.momentys, capacity);
+			this.momentrotations = Arrays.copyOf(this.momentrotations, capacity);
+		}
+		
+		this.momentxs[this.momentnumber] = x;
+		this.momentys[this.momentnumber] = y;
+		this.momentrotations[this.momentnumber] = rotation;
+		this.momentnumber ++;
+	}
+	
 	private void addForce(double force, double forcedir, DoublePoint forcepixel)
 	{
 		// TODO: Make addforce add as much force as is lost in the addOpposingForce method 
 		// to keep the momentums the same
+		// The force is divided between moving and rotating the object 
+		// depending on the object's inertia
+		double leverarm = getLeverArm(forcedir, forcepixel.getX(), 
+				forcepixel.getY(), getX(), getY());
+		double linearshare = getLinearShare(leverarm);
+		
 		// Applies the force to the object
-		addMotion(forcedir, force*0.6);
-		// TODO: Get a nice number here too :)
-		// TODO: Make the relationship between force and rotationforce dependent 
-		// on the r?
-		addRotation(calculateMoment(forcedir, force*0.4, forcepixel, 
-				new DoublePoint(getX(), getY())));
+		addMotion(forcedir, force * linearshare);
+		// The rest of the force rotates the object around its origin
+		if (leverarm != 0)
+			addRotation(Math.toDegrees(force * (1 - linearshare) / leverarm));
 	}
 	
 	private void addOpposingForce(double movementforce, double rotationforce, 
@@ -431,62 +534,129 @@ public abstract class AdvancedPhysicDrawnObject extends BouncingBasicPhysicDrawn
 		// Applies the force to the object (only movementforce counts)
 		addMotion(forcedir, movementforce);
 		
+		// The part of the force that rotates the object depends on the 
+		// object's inertia
+		double rotationshare = 1 - getLinearShare(getLeverArm(forcedir, 
+				colpixel.getX(), colpixel.getY(), getX(), getY()));
+		
+		if (rotationshare <= 0)
+			return;
+		
 		// Applies moment to all (the other) points in the object
-		DoublePoint[] colpoints = getCollisionPoints();
+		double[] colcoordinates = getCollisionCoordinates();
+		Point[] relativepoints = getRelativeCollisionPoints();
 		
-		for (int i = 0; i < colpoints.length; i++)
+		for (int i = 0; i < relativepoints.length && 
+				i * 2 + 1 < colcoordinates.length; i++)
 		{
-			DoublePoint colpoint = colpoints[i];
-			// TODO: Try to come up with a way to always get nice numbers here
 			double moment = calculateMoment(forcedir, 
-					0.4*movementforce + 0.4*rotationforce, colpoint, colpixel);
-			addMoment(negateTransformations(colpoint.getX(), colpoint.getY()), 
-					moment);
+					rotationshare * (movementforce + rotationforce), 
+					colcoordinates[i * 2], colcoordinates[i * 2 + 1], 
+					colpixel.getX(), colpixel.getY());
+			// The collision points are calculated from the relative points
+			addMoment(relativepoints[i], moment);
 		}
 	}
 	
 	private double calculateMoment(double forcedir, double force, 
-			DoublePoint forcepixel, DoublePoint rotationpixel)
+			double forcex, double forcey, double rotationx, double rotationy)
 	{
-		// Calculates the range
-		double r = HelpMath.pointDistance(rotationpixel.getX(), rotationpixel.getY(), 
-				forcepixel.getX(), forcepixel.getY());
-		// Calculates the right direction for the force
-		double tangle = HelpMath.checkDirection(HelpMath.pointDirection(
-				rotationpixel.getX(), rotationpixel.getY(), forcepixel.getX(), 
-				forcepixel.getY()) - 90);
 		// Calculates the moment
 		// The moment also depends of the largest possible range of the object
-		// TODO: or should it be dependent on the mass of the object?
-		return HelpMath.getDirectionalForce(forcedir, force, tangle) 
-				* r / getMaxRangeFromOrigin();
+		return force * getLeverArm(forcedir, forcex, forcey, rotationx, 
+				rotationy) / getMaxRangeFromOrigin();
 	}
 	
-	private int getVolume()
+	// Calculates the range between the rotation point and the force that is 
+	// perpendicular to the force (the y-axis points downwards). The sign tells 
+	// the direction of the rotation.
+	private static double getLeverArm(double forcedir, double forcex, 
+			double forcey, double rotationx, double rotationy)
 	{
-		// For ball-like objects, uses the ball's method for calculating volyme
-		if (getCollisionType() == CollisionType.CIRCLE && getHeight() < 0)
-		{
-			return (int) ((4.0 / 3.0) * Math.PI * Math.pow(getRadius(), 3)); 
-		}
+		double radians = Math.toRadians(forcedir);
+		double xdiff = forcex - rotationx;
+		double ydiff = forcey - rotationy;
+		return -ydiff * HelpMath.cos(radians) - xdiff * HelpMath.sin(radians);
+	}
+	
+	// Returns the part of a force applied at the given lever arm that moves 
+	// the object. The rest of the force rotates the object.
+	private double getLinearShare(double leverarm)
+	{
+		double inertia = getMomentOfInertia();
+		double armedinertia = getMass() * leverarm * leverarm;
 		
-		// For others, calculates the area of the object first
-		int area = 0;
+		// Objects without mass are simply pushed
+		if (inertia + armedinertia <= 0)
+			return 1;
 		
-		if (getCollisionType() == CollisionType.CIRCLE)
-		{
-			// PI * r^2 for a circle
-			int radius = (int) (getRadius() * (getXScale() + getYScale()) / 2);
-			area = (int) (2 * Math.PI * Math.pow(radius, 2));
-		}
-		else
-			area = (int) (getXScale() * getWidth() * getYScale() * getHeight()); 
-		// And returns that multiplied with the height
-		return area * getZHeight();
+		return inertia / (inertia + armedinertia);
 	}
 	
-	private int getMass()
+	private void updateMassProperties()
 	{
-		return getVolume() * getDensity();
+		double xscale = getXScale();
+		double yscale = getYScale();
+		int width = getWidth();
+		int height = getHeight();
+		int radius = getRadius();
+		int originx = getOriginX();
+		int originy = getOriginY();
+		CollisionType type = getCollisionType();
+		
+		// Nothing is done if the object hasn't changed
+		if (type == this.masscollisiontype && xscale == this.massxscale && 
+				yscale == this.massyscale && width == this.masswidth && 
+				height == this.massheight && radius == this.massradius && 
+				originx == this.massoriginx && originy == this.massoriginy)
+			return;
+		
+		int zheight = getZHeight();
+		double volume, inertiaperunit;
+		
+		if (type == CollisionType.CIRCLE)
+		{
+			double r = radius * (xscale + yscale) / 2;
+			
+			// For ball-like objects, uses the ball's method for calculating 
+			// the volume
+			if (zheight < 0)
+			{
+				volume = (4.0 / 3.0) * Math.PI * r * r * r;
+				inertiaperunit = 0.4 * r * r;
+			}
+			// Other circles are cylinders (PI * r^2 * height)
+			else
+			{
+				volume = Math.PI * r * r * zheight;
+				inertiaperunit = 0.5 * r * r;
+			}
+		}
+		// Others are boxes (width * height * zheight)
+		else
+		{
+			double w = width * xscale;
+			double h = height * yscale;
+			volume = w * h * Math.abs(zheight);
+			inertiaperunit = (w * w + h * h) / 12;
+		}
+		
+		// The inertia is calculated around the center of the object and then 
+		// moved to the origin
+		double centerxdiff = (width / 2.0 - originx) * xscale;
+		double centerydiff = (height / 2.0 - originy) * yscale;
+		
+		this.mass = volume * getDensity();
+		this.momentofinertia = this.mass * (inertiaperunit + 
+				centerxdiff * centerxdiff + centerydiff * centerydiff);
+		
+		this.masscollisiontype = type;
+		this.massxscale = xscale;
+		this.massyscale = yscale;
+		this.masswidth = width;
+		this.massheight = height;
+		this.massradius = radius;
+		this.massoriginx = originx;
+		this.massoriginy = originy;
 	}
 }
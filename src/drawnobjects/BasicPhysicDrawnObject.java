@@ -1,6 +1,6 @@
 package drawnobjects;
 
-import handleds.Actor;
+import handleds.TimedActor;
 import handlers.ActorHandler;
 import handlers.CollidableHandler;
 import handlers.CollisionHandler;
@@ -10,19 +10,27 @@ import helpAndEnums.Movement;
 
 /**
  * In addition to CollidingDrawnObject's abilities Physicobject handles 
- * basic physical methods like moving and rotating
+ * basic physical methods like moving and rotating.<p>
+ *
+ * The object may be added to a physicworld, in which case the world keeps 
+ * the object's movement, rotation, frictions and limits and moves the 
+ * object instead.
  *
  * @author Mikko Hilpinen.
  *         Created 28.11.2012.
+ * @see PhysicWorld
  */
 public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject 
-		implements Actor
+		implements TimedActor
 {	
 	// ATTRIBUTES	------------------------------------------------------
 	
 	private double rotation, friction, rotFriction, maxspeed, 
 			maxrotation;
 	private Movement movement;
+	// The world that keeps the values (null if the object keeps them itself)
+	private PhysicWorld world;
+	private int slot;
 	
 	
 	// CONSTRUCTOR	------------------------------------------------------
@@ -60,6 +68,8 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 		this.rotFriction = 0;
 		this.maxspeed = -1;
 		this.maxrotation = -1;
+		this.world = null;
+		this.slot = -1;
 		
 		// Adds the object to the actorhandler if possible
 		if (actorhandler != null)
@@ -72,9 +82,28 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	@Override
 	public void act()
 	{
-		// Handles the movement of the object
-		move();
-		rotate();
+		act(1);
+	}
+	
+	@Override
+	public void act(double steps)
+	{
+		// Handles the movement of the object, unless the world does it
+		if (this.world != null)
+			return;
+		
+		move(steps);
+		rotate(steps);
+	}
+	
+	@Override
+	public boolean kill()
+	{
+		// Releases the slot in the world
+		if (this.world != null)
+			this.world.remove(this);
+		
+		return super.kill();
 	}
 	
 	
@@ -85,6 +114,8 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public Movement getMovement()
 	{
+		if (this.world != null)
+			return this.world.getMovement(this.slot);
 		return this.movement;
 	}
 	
@@ -96,17 +127,19 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void setVelocity(double hspeed, double vspeed)
 	{
-		this.movement = new Movement(hspeed, vspeed);
+		getMovement().set(hspeed, vspeed);
 	}
 	
 	/**
-	 * Changes the object's movement
+	 * Changes the object's movement. The object keeps its own movement 
+	 * and only copies the speeds from the given movement.
 	 *
 	 * @param movement The object's new movement
 	 */
 	public void setMovement(Movement movement)
 	{
-		this.movement = movement;
+		if (movement != null)
+			getMovement().set(movement);
 	}
 	
 	/**
@@ -118,8 +151,7 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void addVelocity(double haccelration, double vacceltarion)
 	{
-		this.movement = Movement.movementSum(getMovement(), 
-				new Movement(haccelration, vacceltarion));
+		getMovement().add(haccelration, vacceltarion);
 	}
 	
 	/**
@@ -127,6 +159,8 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public double getRotation()
 	{
+		if (this.world != null)
+			return this.world.getRotation(this.slot);
 		return this.rotation;
 	}
 	
@@ -137,7 +171,10 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void setRotation(double rotation)
 	{
-		this.rotation = rotation;
+		if (this.world != null)
+			this.world.setRotation(this.slot, rotation);
+		else
+			this.rotation = rotation;
 	}
 	
 	/**
@@ -145,6 +182,8 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public double getFriction()
 	{
+		if (this.world != null)
+			return this.world.getFriction(this.slot);
 		return this.friction;
 	}
 	
@@ -155,7 +194,10 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void setFriction(double friction)
 	{
-		this.friction = friction;
+		if (this.world != null)
+			this.world.setFriction(this.slot, friction);
+		else
+			this.friction = friction;
 	}
 	
 	/**
@@ -163,6 +205,8 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public double getRotationFriction()
 	{
+		if (this.world != null)
+			return this.world.getRotationFriction(this.slot);
 		return this.rotFriction;
 	}
 	
@@ -174,7 +218,10 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void setRotationFriction(double rotationFriction)
 	{
-		this.rotFriction = rotationFriction;
+		if (this.world != null)
+			this.world.setRotationFriction(this.slot, rotationFriction);
+		else
+			this.rotFriction = rotationFriction;
 	}
 	
 	/**
@@ -186,7 +233,7 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void addRotation(double raccelration)
 	{
-		this.rotation += raccelration;
+		setRotation(getRotation() + raccelration);
 	}
 	
 	/**
@@ -197,8 +244,7 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void addMotion(double direction, double force)
 	{
-		this.movement = Movement.movementSum(getMovement(), 
-				Movement.createMovement(direction, force));
+		getMovement().addDirSpeed(direction, force);
 	}
 	
 	/**
@@ -209,7 +255,7 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void setMotion(double direction, double speed)
 	{	
-		this.movement = Movement.createMovement(direction, speed);
+		getMovement().setDirSpeed(direction, speed);
 	}
 	
 	/**
@@ -220,7 +266,10 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void setMaxSpeed(double maxspeed)
 	{
-		this.maxspeed = maxspeed;
+		if (this.world != null)
+			this.world.setMaxSpeed(this.slot, maxspeed);
+		else
+			this.maxspeed = maxspeed;
 	}
 	
 	/**
@@ -228,6 +277,8 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public double getMaxSpeed()
 	{
+		if (this.world != null)
+			return this.world.getMaxSpeed(this.slot);
 		return this.maxspeed;
 	}
 	
@@ -236,6 +287,8 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public double getMaxRotation()
 	{
+		if (this.world != null)
+			return this.world.getMaxRotation(this.slot);
 		return this.maxrotation;
 	}
 	
@@ -246,20 +299,47 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	 */
 	public void setMaxRotation(double maxrotation)
 	{
-		this.maxrotation = maxrotation;
+		if (this.world != null)
+			this.world.setMaxRotation(this.slot, maxrotation);
+		else
+			this.maxrotation = maxrotation;
+	}
+	
+	/**
+	 * @return The world that moves the object (null if the object moves 
+	 * itself)
+	 * @see PhysicWorld#add(BasicPhysicDrawnObject)
+	 */
+	public PhysicWorld getPhysicWorld()
+	{
+		return this.world;
+	}
+	
+	// Called by the world when the object is added, removed or moved to 
+	// another slot
+	void setPhysicWorld(PhysicWorld world, int slot)
+	{
+		this.world = world;
+		this.slot = slot;
+	}
+	
+	int getPhysicSlot()
+	{
+		return this.slot;
 	}
 	
 	
 	// OTHER METHODS	----------------------------------------------------
 	
 	// Moves the object and handles the friction
-	private void move()
+	private void move(double steps)
 	{
-		addPosition(getMovement());
+		addPosition(this.movement.getHSpeed() * steps, 
+				this.movement.getVSpeed() * steps);
 		
 		// Checks the friction
 		if (getFriction() != 0)
-			implyFriction();
+			implyFriction(steps);
 		
 		// Also checks the maximum speed and rotation
 		checkMaxSpeed();
@@ -267,38 +347,40 @@ public abstract class BasicPhysicDrawnObject extends CollidingDrawnObject
 	}
 	
 	// Rotates teh object and handles the rotation friction
-	private void rotate()
+	private void rotate(double steps)
 	{
-		addAngle(getRotation());
+		addAngle(getRotation() * steps);
 		
 		if (getRotationFriction() == 0)
 			return;
 		
-		implyRotationFriction();
+		implyRotationFriction(steps);
 	}
 	
 	// Slows the speed the amount of given friction
-	private void implyFriction()
+	private void implyFriction(double steps)
 	{
-		getMovement().diminishSpeed(getFriction());
+		getMovement().diminishSpeed(getFriction() * steps);
 	}
 	
 	// Slows the rotation speed the amount of given friction
-	private void implyRotationFriction()
+	private void implyRotationFriction(double steps)
 	{	
+		double friction = getRotationFriction() * steps;
+		
 		// Slows down the object's rotation
-		if (Math.abs(getRotation()) <= getRotationFriction())
+		if (Math.abs(getRotation()) <= friction)
 			this.rotation = 0;
 		else if (getRotation() > 0)
-			this.rotation -= getRotationFriction();
+			this.rotation -= friction;
 		else
-			this.rotation += getRotationFriction();
+			this.rotation += friction;
 	}
 	
 	private void checkMaxSpeed()
 	{
-		if (this.maxspeed >= 0 && getMovement().getSpeed() > this.maxspeed)
-			getMovement().setSpeed(this.maxspeed);
+		if (this.maxspeed >= 0)
+			this.movement.clampSpeed(this.maxspeed);
 	}
 	
 	private void checkMaxRotation()
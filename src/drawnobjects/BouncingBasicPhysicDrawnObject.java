@@ -62,8 +62,8 @@ public abstract class BouncingBasicPhysicDrawnObject extends BasicPhysicDrawnObj
 	{
 		double friction = oppmovement.getSpeed() * frictionmodifier;
 		// Diminishes the speed that was not affected by the oppposing force
-		setMovement(getMovement().getDirectionalllyDiminishedMovement(
-				oppmovement.getDirection() + 90, friction));
+		getMovement().diminishDirectionalSpeed(oppmovement.getDirection() + 90, 
+				friction);
 	}
 	
 	/**
@@ -90,8 +90,8 @@ public abstract class BouncingBasicPhysicDrawnObject extends BasicPhysicDrawnObj
 		double forcedir = d.getCollisionForceDirection(collisionpoint.getAsPoint());
 		
 		// Calculates the actual amount of force applied to the object
-		Movement oppmovement = 
-				getMovement().getOpposingMovement().getDirectionalMovement(forcedir);
+		Movement oppmovement = getMovement().getOpposingMovement();
+		oppmovement.project(forcedir);
 		
 		bounce(bounciness, frictionmodifier, oppmovement, forcedir);
 	}
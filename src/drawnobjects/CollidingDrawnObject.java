@@ -1,15 +1,20 @@
 package drawnobjects;
 
+import handleds.Collidable;
+import handleds.ObservableLogicalHandled;
 import handlers.CollidableHandler;
 import handlers.CollisionHandler;
 import handlers.DrawableHandler;
+import handlers.LogicalStateListeners;
 import helpAndEnums.CollisionType;
 import helpAndEnums.DoublePoint;
 import helpAndEnums.HelpMath;
 
 import java.awt.Point;
+import java.util.ArrayList;
 
-import listeners.CollisionListener;
+import listeners.BufferedCollisionListener;
+import listeners.LogicalStateListener;
 
 /**
  * Collidingdrawnobject is a subclass of the drawnobject that can collide with 
@@ -19,12 +24,18 @@ import listeners.CollisionListener;
  *         Created 30.6.2013.
  */
 public abstract class CollidingDrawnObject extends DimensionalDrawnObject 
-		implements CollisionListener
+		implements BufferedCollisionListener, ObservableLogicalHandled
 {
 	// ATTRIBUTES	------------------------------------------------------
 	
 	private Point[] relativecollisionpoints;
+	// The absolute collision points and the state they were calculated in
+	private double[] collisioncoordinates;
+	private Point[] calculatedpoints;
+	private long calculatedversion;
+	private int calculatedoriginx, calculatedoriginy;
 	private boolean active;
+	private LogicalStateListeners statelisteners;
 	
 	
 	// CONSTRUCTOR	------------------------------------------------------
@@ -56,7 +67,13 @@ public abstract class CollidingDrawnObject extends DimensionalDrawnObject
 		
 		// Initializes attributes
 		this.active = true;
+		this.statelisteners = new LogicalStateListeners(this);
 		this.relativecollisionpoints = new Point[0];
+		this.collisioncoordinates = new double[0];
+		this.calculatedpoints = null;
+		this.calculatedversion = -1;
+		this.calculatedoriginx = 0;
+		this.calculatedoriginy = 0;
 
 		// Adds the object to the handler
 		if (collisionhandler != null)
@@ -75,35 +92,107 @@ public abstract class CollidingDrawnObject extends DimensionalDrawnObject
 	@Override
 	public boolean inactivate()
 	{
-		this.active = false;
+		if (this.active)
+		{
+			this.active = false;
+			this.statelisteners.informActivityChange(this.active);
+		}
 		return true;
 	}
 	
 	@Override
 	public boolean activate()
 	{
-		this.active = true;
+		if (!this.active)
+		{
+			this.active = true;
+			this.statelisteners.informActivityChange(this.active);
+		}
 		return true;
 	}
 	
+	@Override
+	public void addLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.add(listener);
+	}
+	
+	@Override
+	public void removeLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.remove(listener);
+	}
+	
 	@Override
 	public DoublePoint[] getCollisionPoints()
 	{	
+		double[] coordinates = getCollisionCoordinates();
+		DoublePoint[] newpoints = new DoublePoint[coordinates.length / 2];
+		
+		// Creates a point from each of the transformed coordinates
+		for (int i = 0; i < newpoints.length; i++)
+		{
+			newpoints[i] = new DoublePoint(coordinates[i * 2], 
+					coordinates[i * 2 + 1]);
+		}
+		
+		return newpoints;
+	}
+	
+	@Override
+	public synchronized double[] getCollisionCoordinates()
+	{
 		Point[] relativepoints = getRelativeCollisionPoints();
+		long version = getTransformationVersion();
+		int originx = getOriginX();
+		int originy = getOriginY();
 		
 		// if relativepoints don't exist, returns an empty table
 		if (relativepoints == null)
-			return new DoublePoint[0];
+			relativepoints = new Point[0];
 		
-		DoublePoint[] newpoints = new DoublePoint[relativepoints.length];
+		// The points are only transformed again if the object or the points 
+		// have changed since the last time
+		if (relativepoints != this.calculatedpoints || 
+				version != this.calculatedversion || 
+				originx != this.calculatedoriginx || 
+				originy != this.calculatedoriginy)
+		{
+			if (this.collisioncoordinates.length != relativepoints.length * 2)
+				this.collisioncoordinates = new double[relativepoints.length * 2];
+			
+			for (int i = 0; i < relativepoints.length; i++)
+			{
+				this.collisioncoordinates[i * 2] = relativepoints[i].x;
+				this.collisioncoordinates[i * 2 + 1] = relativepoints[i].y;
+			}
+			transform(this.collisioncoordinates, this.collisioncoordinates, 
+					relativepoints.length);
+			
+			this.calculatedpoints = relativepoints;
+			this.calculatedversion = version;
+			this.calculatedoriginx = originx;
+			this.calculatedoriginy = originy;
+		}
+		
+		return this.collisioncoordinates;
+	}
+	
+	@Override
+	public void onCollision(double[] colcoordinates, int pointnumber, 
+			Collidable collided)
+	{
+		// By default the points are delivered to the other onCollision method
+		ArrayList<DoublePoint> collisionpoints = 
+				new ArrayList<DoublePoint>(pointnumber);
 		
-		// Transforms each of the points and adds them to the new table
-		for (int i = 0; i < relativepoints.length; i++)
+		for (int i = 0; i < pointnumber; i++)
 		{
-			newpoints[i] = transform(relativepoints[i].x, relativepoints[i].y);
+			collisionpoints.add(new DoublePoint(colcoordinates[i * 2], 
+					colcoordinates[i * 2 + 1]));
 		}
 		
-		return newpoints;
+		onCollision(collisionpoints, collided);
 	}
 	
 	
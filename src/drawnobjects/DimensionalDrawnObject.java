@@ -103,8 +103,11 @@ public abstract class DimensionalDrawnObject extends DrawnObject implements Coll
 		// Circular objects react if the point is near enough
 		if (this.collisiontype == CollisionType.CIRCLE)
 		{
-			if (HelpMath.pointDistance(getOriginX(), getOriginY(), 
-					negatedPoint.x, negatedPoint.y) <= getRadius())
+			double radius = getRadius();
+			
+			if (radius >= 0 && HelpMath.pointDistanceSquared(getOriginX(), 
+					getOriginY(), negatedPoint.x, negatedPoint.y) <= 
+					radius * radius)
 				return this;
 			else
 				return null;
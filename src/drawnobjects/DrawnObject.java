@@ -1,6 +1,6 @@
 package drawnobjects;
 
-import handleds.Drawable;
+import handleds.ObservableDrawable;
 import handlers.DrawableHandler;
 import helpAndEnums.DoublePoint;
 import helpAndEnums.HelpMath;
@@ -8,25 +8,54 @@ import helpAndEnums.Movement;
 
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import listeners.DrawableStateListener;
+import listeners.TransformationListener;
 
 import common.GameObject;
 
 
 /**
  * An object from this class is can be drawed on screen as an two dimensional 
- * object. The object has a certain position, angle and scale.
+ * object. The object has a certain position, angle and scale.<p>
+ *
+ * The object's state can be published so that the object can be drawn in 
+ * another thread. Published objects are drawn between their last two 
+ * published states, at the point given to the graphics object they are 
+ * drawn with.
  *
  * @author Mikko Hilpinen.
  *         Created 26.11.2012.
  */
-public abstract class DrawnObject extends GameObject implements Drawable
+public abstract class DrawnObject extends GameObject implements
+		ObservableDrawable
 {	
 	// ATTRIBUTES	-------------------------------------------------------
 	
+	/**
+	 * The rendering hint that tells how far between their last two published 
+	 * states the published objects are drawn [0, 1]. Without the hint, the 
+	 * latest published states are drawn.
+	 * 
+	 * @see #setInterpolation(Graphics2D, double)
+	 */
+	public static final RenderingHints.Key INTERPOLATION = 
+			new InterpolationKey();
+	
 	private double xscale, yscale, x, y, angle;
 	private boolean visible;
 	private int depth;
+	// The last two published states (null if the states aren't published)
+	private volatile DrawnObjectState[] states;
+	private CopyOnWriteArrayList<DrawableStateListener> statelisteners;
+	private CopyOnWriteArrayList<TransformationListener> transformationlisteners;
+	// Increases each time the object is transformed
+	private volatile long transformationversion;
+	// The latest calculated transformation (null if not calculated yet)
+	private volatile Transformation transformation;
 	
 	
 	// CONSTRUCTOR	-------------------------------------------------------
@@ -51,6 +80,12 @@ public abstract class DrawnObject extends GameObject implements Drawable
 		this.visible = true;
 		this.angle = 0;
 		this.depth = depth;
+		this.states = null;
+		this.statelisteners = new CopyOnWriteArrayList<DrawableStateListener>();
+		this.transformationlisteners = 
+				new CopyOnWriteArrayList<TransformationListener>();
+		this.transformationversion = 0;
+		this.transformation = null;
 		
 		// Adds the object to the drawer (if possible)
 		if (drawer != null)
@@ -90,29 +125,51 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	@Override
 	public boolean setVisible()
 	{
-		this.visible = true;
+		if (!this.visible)
+		{
+			this.visible = true;
+			informVisibilityChange();
+		}
 		return true;
 	}
 
 	@Override
 	public boolean setInvisible()
 	{
-		this.visible = false;
+		if (this.visible)
+		{
+			this.visible = false;
+			informVisibilityChange();
+		}
 		return true;
 	}
 	
+	@Override
+	public void addDrawableStateListener(DrawableStateListener listener)
+	{
+		if (listener != null)
+			this.statelisteners.addIfAbsent(listener);
+	}
+	
+	@Override
+	public void removeDrawableStateListener(DrawableStateListener listener)
+	{
+		this.statelisteners.remove(listener);
+	}
+	
 	@Override
 	public void drawSelf(Graphics2D g2d)
 	{
 		// Remembers the previous transformation
 		AffineTransform trans = g2d.getTransform();
+		DrawnObjectState state = getDrawnState(g2d);
 		
 		// Translates the sprite to the object's position
-		g2d.translate(getX(), getY());
+		g2d.translate(state.getX(), state.getY());
 		// rotates it depending on its angle
-		g2d.rotate(Math.toRadians((360 - getAngle())));
+		g2d.rotate(Math.toRadians((360 - state.getAngle())));
 		// scales it depending on it's xscale and yscale
-		g2d.scale(getXScale(), getYScale());
+		g2d.scale(state.getXScale(), state.getYScale());
 		// and translates the origin to the right position
 		g2d.translate(-getOriginX(), -getOriginY());
 		
@@ -132,7 +189,16 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	@Override
 	public boolean setDepth(int depth)
 	{
-		this.depth = depth;
+		if (this.depth != depth)
+		{
+			this.depth = depth;
+			
+			// Informs the listeners so that the object is drawn in order
+			for (DrawableStateListener listener : this.statelisteners)
+			{
+				listener.onDepthChange(this, depth);
+			}
+		}
 		return true;
 	}
 	
@@ -168,6 +234,7 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	{
 		this.angle = angle;
 		checkAngle();
+		informTransformationChange();
 	}
 	
 	/**
@@ -206,6 +273,7 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	public void setXScale(double xscale)
 	{
 		this.xscale = xscale;
+		informTransformationChange();
 	}
 	
 	/**
@@ -216,6 +284,7 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	public void setYScale(double yscale)
 	{
 		this.yscale = yscale;
+		informTransformationChange();
 	}
 	
 	/**
@@ -229,6 +298,7 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	{
 		this.xscale = xscale;
 		this.yscale = yscale;
+		informTransformationChange();
 	}
 	
 	/**
@@ -265,6 +335,7 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	{
 		this.x = x;
 		this.y = y;
+		informTransformationChange();
 	}
 	
 	/**
@@ -275,6 +346,7 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	public void setX(double x)
 	{
 		this.x = x;
+		informTransformationChange();
 	}
 	
 	/**
@@ -285,6 +357,7 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	public void setY(double y)
 	{
 		this.y = y;
+		informTransformationChange();
 	}
 	
 	/**
@@ -308,9 +381,150 @@ public abstract class DrawnObject extends GameObject implements Drawable
 		addPosition(movement.getHSpeed(), movement.getVSpeed());
 	}
 	
+	/**
+	 * Moves and rotates the object at the same time. The listeners are only 
+	 * informed once.
+	 * 
+	 * @param hspeed How much the object is moved horizontally
+	 * @param vspeed How much the object is moved vertically
+	 * @param rotation How much the angle around the z-axis is increased 
+	 * (degrees)
+	 */
+	public void addTransformation(double hspeed, double vspeed, 
+			double rotation)
+	{
+		this.x = getX() + hspeed;
+		this.y = getY() + vspeed;
+		this.angle = getAngle() + rotation;
+		checkAngle();
+		informTransformationChange();
+	}
+	
+	
+	/**
+	 * Changes how far between the last two published states the published 
+	 * objects are drawn with the given graphics object. This should be 
+	 * called before the objects are drawn, so that the whole frame is drawn 
+	 * at the same point.
+	 * 
+	 * @param g2d The graphics object the objects will be drawn with
+	 * @param progress How far from the earlier state towards the latest 
+	 * state the objects are drawn [0, 1]
+	 * @see #publishState()
+	 */
+	public static void setInterpolation(Graphics2D g2d, double progress)
+	{
+		g2d.setRenderingHint(INTERPOLATION, 
+				Math.max(0, Math.min(1, progress)));
+	}
+	
+	/**
+	 * Returns the state in which the object should be drawn. If no states 
+	 * have been published, the object's current state is used.
+	 * 
+	 * @param g2d The graphics object that draws the object
+	 * @return The state in which the object should be drawn
+	 * @see #setInterpolation(Graphics2D, double)
+	 */
+	protected DrawnObjectState getDrawnState(Graphics2D g2d)
+	{
+		DrawnObjectState[] publishedstates = this.states;
+		
+		if (publishedstates == null)
+			return getCurrentState();
+		
+		// The latest state is used unless told otherwise
+		Object progress = g2d.getRenderingHint(INTERPOLATION);
+		if (progress == null)
+			return publishedstates[1];
+		
+		return DrawnObjectState.interpolate(publishedstates[0], 
+				publishedstates[1], (Double) progress);
+	}
+	
 	
 	// OTHER METHODS	---------------------------------------------------
 	
+	/**
+	 * Publishes the object's current state so that it can be drawn in 
+	 * another thread. This should be called by the logic thread after each 
+	 * step. Once the states have been published, the object is always 
+	 * drawn using the published states.
+	 */
+	public void publishState()
+	{
+		DrawnObjectState current = getCurrentState();
+		DrawnObjectState[] publishedstates = this.states;
+		
+		if (publishedstates == null)
+			this.states = new DrawnObjectState[] {current, current};
+		else
+			this.states = new DrawnObjectState[] {publishedstates[1], current};
+	}
+	
+	/**
+	 * Informs the listeners about the object's current visibility. This 
+	 * should be called by the subclasses whenever something other than 
+	 * setVisible or setInvisible changes the object's visibility.
+	 */
+	protected void informVisibilityChange()
+	{
+		boolean visible = isVisible();
+		
+		for (DrawableStateListener listener : this.statelisteners)
+		{
+			listener.onVisibilityChange(this, visible);
+		}
+	}
+	
+	/**
+	 * Adds a new listener that will be informed each time the object moves, 
+	 * rotates or is scaled
+	 * 
+	 * @param listener The listener that will be informed
+	 */
+	public void addTransformationListener(TransformationListener listener)
+	{
+		if (listener != null)
+			this.transformationlisteners.addIfAbsent(listener);
+	}
+	
+	/**
+	 * Removes a listener from the informed transformationlisteners
+	 * 
+	 * @param listener The listener that won't be informed anymore
+	 */
+	public void removeTransformationListener(TransformationListener listener)
+	{
+		this.transformationlisteners.remove(listener);
+	}
+	
+	/**
+	 * @return A number that changes each time the object's position, angle 
+	 * or scaling changes. Can be used for checking whether the values 
+	 * calculated from the transformations are still valid.
+	 */
+	public long getTransformationVersion()
+	{
+		return this.transformationversion;
+	}
+	
+	private void informTransformationChange()
+	{
+		this.transformationversion ++;
+		
+		for (TransformationListener listener : this.transformationlisteners)
+		{
+			listener.onTransformationChange(this);
+		}
+	}
+	
+	private DrawnObjectState getCurrentState()
+	{
+		return new DrawnObjectState(getX(), getY(), getAngle(), getXScale(), 
+				getYScale(), getDepth());
+	}
+	
 	// Restores the angle to between 0 and 360
 	private void checkAngle()
 	{
@@ -339,8 +553,28 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	 */
 	public Point negateTransformations(double x, double y)
 	{
-		return negateTransformations(x, y, getX(), getY(), getXScale(), 
-				getYScale(), getAngle(), getOriginX(), getOriginY());
+		double[] inverse = getTransformation().getInverseMatrix();
+		
+		return new Point((int) (inverse[0] * x + inverse[1] * y + inverse[2]), 
+				(int) (inverse[3] * x + inverse[4] * y + inverse[5]));
+	}
+	
+	/**
+	 * Negates the object's transformations from multiple points without 
+	 * creating any new objects. Unlike the other version, the results aren't 
+	 * rounded.
+	 *
+	 * @param points The absolute points as x- and y-coordinates after each 
+	 * other
+	 * @param result The array the relative points are written into. May be 
+	 * the same array as <b>points</b>.
+	 * @param pointnumber How many points are negated
+	 */
+	public void negateTransformations(double[] points, double[] result, 
+			int pointnumber)
+	{
+		applyMatrix(getTransformation().getInverseMatrix(), points, result, 
+				pointnumber);
 	}
 	
 	/**
@@ -363,41 +597,14 @@ public abstract class DrawnObject extends GameObject implements Drawable
 			double y, double xscale, double yscale, double angle, int originx, 
 			int originy)
 	{
-		double tempx = px;
-		double tempy = py;
-		
-		// Position Translate (test this)
-		tempx -= x;
-		tempy -= y;
-		
-		// Rotation
-		if (angle > 0)
-		{
-			double prevDir = HelpMath.pointDirection(0, 0, tempx, tempy);
-			double newDir = HelpMath.checkDirection(prevDir - angle);
-			double dist = HelpMath.pointDistance(0, 0, tempx, tempy);
-			
-			tempx = HelpMath.lendirX(dist, newDir);
-			tempy = HelpMath.lendirY(dist, newDir);
-		}
+		double cos = Math.cos(Math.toRadians(angle));
+		double sin = Math.sin(Math.toRadians(angle));
+		double xdiff = px - x;
+		double ydiff = py - y;
 		
-		// Scaling
-		if (xscale != 1 || yscale != 1)
-		{
-			double xdist = tempx;
-			double ydist = tempy;
-			double newxdist = xdist*(1/xscale);
-			double newydist = ydist*(1/yscale);
-			
-			tempx -= xdist - newxdist;
-			tempy -= ydist - newydist;
-		}
-		
-		// Origin translate
-		tempx += originx;
-		tempy += originy;
-		
-		return new Point((int) tempx, (int) tempy);
+		// Position translate, rotation, scaling and origin translate
+		return new Point((int) ((xdiff * cos - ydiff * sin) / xscale + originx), 
+				(int) ((xdiff * sin + ydiff * cos) / yscale + originy));
 	}
 	
 	/**
@@ -409,8 +616,26 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	 */
 	protected DoublePoint transform(double x, double y)
 	{	
-		return transform(x, y, getX(), getY(), getXScale(), getYScale(), 
-				getAngle(), getOriginX(), getOriginY());
+		double[] matrix = getTransformation().getMatrix();
+		
+		return new DoublePoint(matrix[0] * x + matrix[1] * y + matrix[2], 
+				matrix[3] * x + matrix[4] * y + matrix[5]);
+	}
+	
+	/**
+	 * Transforms multiple positions depending on the object's current 
+	 * transformation without creating any new objects
+	 *
+	 * @param points The relative positions as x- and y-coordinates after each 
+	 * other
+	 * @param result The array the absolute positions are written into. May be 
+	 * the same array as <b>points</b>.
+	 * @param pointnumber How many positions are transformed
+	 */
+	protected void transform(double[] points, double[] result, int pointnumber)
+	{
+		applyMatrix(getTransformation().getMatrix(), points, result, 
+				pointnumber);
 	}
 	
 	/**
@@ -430,39 +655,14 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	protected DoublePoint transform(double px, double py, double x, double y, 
 			double xscale, double yscale, double angle, int originx, int originy)
 	{	
-		double tempx = px;
-		double tempy = py;
+		double cos = Math.cos(Math.toRadians(angle));
+		double sin = Math.sin(Math.toRadians(angle));
+		double scaledx = (px - originx) * xscale;
+		double scaledy = (py - originy) * yscale;
 		
-		// Origin translate
-		tempx -= originx;
-		tempy -= originy;
-		
-		// Scaling
-		if (xscale != 1 || yscale != 1)
-		{
-			double xdist = tempx;
-			double ydist = tempy;
-			double newxdist = xdist*xscale;
-			double newydist = ydist*yscale;
-			tempx -= xdist - newxdist;
-			tempy -= ydist - newydist;
-		}
-		
-		// Rotation
-		if (angle > 0)
-		{
-			double prevDir = HelpMath.pointDirection(0, 0, tempx, tempy);
-			double newDir = HelpMath.checkDirection(prevDir + angle);
-			double dist = HelpMath.pointDistance(0, 0, tempx, tempy);
-			tempx = HelpMath.lendirX(dist, newDir);
-			tempy = HelpMath.lendirY(dist, newDir);
-		}
-		
-		// Position Translate
-		tempx += x;
-		tempy += y;
-		
-		return new DoublePoint(tempx, tempy);
+		// Origin translate, scaling, rotation and position translate
+		return new DoublePoint(scaledx * cos + scaledy * sin + x, 
+				-scaledx * sin + scaledy * cos + y);
 	}
 	
 	/**
@@ -473,10 +673,27 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	 */
 	public void rotateAroundPoint(double angle, DoublePoint p)
 	{
+		rotateAroundPoint(angle, p.getX(), p.getY());
+	}
+	
+	/**
+	 * Rotates the object around a certain (absolute) position
+	 *
+	 * @param angle The amount of degrees the object rotates
+	 * @param x The x-coordinate of the point around which the object rotates 
+	 * (absolute pixel)
+	 * @param y The y-coordinate of the point around which the object rotates 
+	 * (absolute pixel)
+	 */
+	public void rotateAroundPoint(double angle, double x, double y)
+	{
+		double cos = HelpMath.cos(Math.toRadians(angle));
+		double sin = HelpMath.sin(Math.toRadians(angle));
+		double xdiff = getX() - x;
+		double ydiff = getY() - y;
+		
 		// Moves the object around the point
-		DoublePoint newposition = 
-				HelpMath.getRotatedPosition(p.getX(), p.getY(), getPosition(), angle);
-		setPosition(newposition.getX(), newposition.getY());
+		setPosition(x + xdiff * cos + ydiff * sin, y - xdiff * sin + ydiff * cos);
 		// Also rotates the object
 		addAngle(angle);
 	}
@@ -490,8 +707,58 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	 */
 	public void rotateAroundRelativePoint(double angle, Point p)
 	{
-		DoublePoint abspoint = transform(p.x, p.y);
-		rotateAroundPoint(angle, abspoint);
+		rotateAroundRelativePoint(angle, p.x, p.y);
+	}
+	
+	/**
+	 * Rotates the object around a relative point. 
+	 * A bit heavier than the rotatearoundpoint method
+	 *
+	 * @param angle The amount of degrees the object is rotated
+	 * @param x The x-coordinate of the relative point around which the object 
+	 * is rotated
+	 * @param y The y-coordinate of the relative point around which the object 
+	 * is rotated
+	 */
+	public void rotateAroundRelativePoint(double angle, double x, double y)
+	{
+		double[] matrix = getTransformation().getMatrix();
+		
+		rotateAroundPoint(angle, matrix[0] * x + matrix[1] * y + matrix[2], 
+				matrix[3] * x + matrix[4] * y + matrix[5]);
+	}
+	
+	// Returns the current transformation, calculating it again if the object 
+	// has been transformed since the last time
+	private Transformation getTransformation()
+	{
+		Transformation transformation = this.transformation;
+		long version = this.transformationversion;
+		int originx = getOriginX();
+		int originy = getOriginY();
+		
+		if (transformation == null || 
+				!transformation.isValid(version, originx, originy))
+		{
+			transformation = new Transformation(version, getX(), getY(), 
+					getXScale(), getYScale(), getAngle(), originx, originy);
+			this.transformation = transformation;
+		}
+		
+		return transformation;
+	}
+	
+	private static void applyMatrix(double[] matrix, double[] points, 
+			double[] result, int pointnumber)
+	{
+		for (int i = 0; i < pointnumber * 2; i += 2)
+		{
+			double x = points[i];
+			double y = points[i + 1];
+			
+			result[i] = matrix[0] * x + matrix[1] * y + matrix[2];
+			result[i + 1] = matrix[3] * x + matrix[4] * y + matrix[5];
+		}
 	}
 	
 	/**
@@ -506,15 +773,16 @@ public abstract class DrawnObject extends GameObject implements Drawable
 	protected void drawSelfAsContainer(Graphics2D g2d)
 	{
 		AffineTransform trans = g2d.getTransform();
+		DrawnObjectState state = getDrawnState(g2d);
 		
 		// and translates the origin to the right position
 		g2d.translate((double) -getOriginX(), (double) -getOriginY());
 		// scales it depending on it's xscale and yscale
-		g2d.scale(getXScale(), getYScale());
+		g2d.scale(state.getXScale(), state.getYScale());
 		// rotates it depending on its angle
-		g2d.rotate(Math.toRadians((360 - getAngle())));
+		g2d.rotate(Math.toRadians((360 - state.getAngle())));
 		// Translates the sprite to the object's position
-		g2d.translate(getX(), getY());
+		g2d.translate(state.getX(), state.getY());
 		
 		// Finally draws the object
 		drawSelfBasic(g2d);
@@ -522,4 +790,106 @@ public abstract class DrawnObject extends GameObject implements Drawable
 		// Loads the previous transformation
 		g2d.setTransform(trans);
 	}
+	
+	
+	// SUBCLASSES	-------------------------------------------------------
+	
+	/**
+	 * Transformation holds the matrices that transform relative points into 
+	 * absolute points and back with a certain position, angle, scaling and 
+	 * origin.
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class Transformation
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private long version;
+		private int originx, originy;
+		// Both matrices have two rows of x-multiplier, y-multiplier, addition
+		private double[] matrix, inversematrix;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public Transformation(long version, double x, double y, 
+				double xscale, double yscale, double angle, int originx, 
+				int originy)
+		{
+			// Initializes attributes
+			this.version = version;
+			this.originx = originx;
+			this.originy = originy;
+			
+			double cos = Math.cos(Math.toRadians(angle));
+			double sin = Math.sin(Math.toRadians(angle));
+			
+			// The origin is translated first, then the point is scaled, 
+			// rotated and translated to the position
+			this.matrix = new double[] {xscale * cos, yscale * sin, 
+					x - xscale * cos * originx - yscale * sin * originy, 
+					-xscale * sin, yscale * cos, 
+					y + xscale * sin * originx - yscale * cos * originy};
+			
+			// The inverse does the same in the opposite order
+			this.inversematrix = new double[] {cos / xscale, -sin / xscale, 
+					originx - (cos * x - sin * y) / xscale, 
+					sin / yscale, cos / yscale, 
+					originy - (sin * x + cos * y) / yscale};
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		public double[] getMatrix()
+		{
+			return this.matrix;
+		}
+		
+		public double[] getInverseMatrix()
+		{
+			return this.inversematrix;
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		public boolean isValid(long version, int originx, int originy)
+		{
+			return this.version == version && this.originx == originx && 
+					this.originy == originy;
+		}
+	}
+	
+	/**
+	 * InterpolationKey is the key of the interpolation rendering hint. Its 
+	 * values are doubles between 0 and 1.
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class InterpolationKey extends RenderingHints.Key
+	{
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public InterpolationKey()
+		{
+			super(0);
+		}
+		
+		
+		// IMPLEMENTED METHODS	----------------------------------------
+		
+		@Override
+		public boolean isCompatibleValue(Object val)
+		{
+			if (!(val instanceof Double))
+				return false;
+			
+			double progress = (Double) val;
+			return progress >= 0 && progress <= 1;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package drawnobjects;
+
+import helpAndEnums.HelpMath;
+
+/**
+ * DrawnObjectState is an immutable snapshot of a drawnobject's position, 
+ * angle, scaling and depth at a certain step. The states are published by 
+ * the logic thread and used by the drawing thread so that the objects can be 
+ * drawn while the logic is changing them.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see DrawnObject#publishState()
+ */
+public class DrawnObjectState
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private final double x, y, angle, xscale, yscale;
+	private final int depth;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new state with the given information
+	 * 
+	 * @param x The x-coordinate of the object's position (pxl)
+	 * @param y The y-coordinate of the object's position (pxl)
+	 * @param angle The object's angle [0, 360[
+	 * @param xscale The object's horizontal scaling
+	 * @param yscale The object's vertical scaling
+	 * @param depth The object's depth
+	 */
+	public DrawnObjectState(double x, double y, double angle, double xscale, 
+			double yscale, int depth)
+	{
+		// Initializes attributes
+		this.x = x;
+		this.y = y;
+		this.angle = angle;
+		this.xscale = xscale;
+		this.yscale = yscale;
+		this.depth = depth;
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return The x-coordinate of the object's position (pxl)
+	 */
+	public double getX()
+	{
+		return this.x;
+	}
+	
+	/**
+	 * @return The y-coordinate of the object's position (pxl)
+	 */
+	public double getY()
+	{
+		return this.y;
+	}
+	
+	/**
+	 * @return The object's angle [0, 360[
+	 */
+	public double getAngle()
+	{
+		return this.angle;
+	}
+	
+	/**
+	 * @return The object's horizontal scaling
+	 */
+	public double getXScale()
+	{
+		return this.xscale;
+	}
+	
+	/**
+	 * @return The object's vertical scaling
+	 */
+	public double getYScale()
+	{
+		return this.yscale;
+	}
+	
+	/**
+	 * @return The object's depth
+	 */
+	public int getDepth()
+	{
+		return this.depth;
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Creates a new state that is between the two given states. The angle 
+	 * is changed using the shorter way around. The depth is taken from the 
+	 * latter state.
+	 * 
+	 * @param previous The earlier state
+	 * @param current The later state
+	 * @param progress How far from the earlier state towards the later state 
+	 * the new state is [0, 1]
+	 * @return A state between the two states
+	 */
+	public static DrawnObjectState interpolate(DrawnObjectState previous, 
+			DrawnObjectState current, double progress)
+	{
+		if (progress >= 1)
+			return current;
+		if (progress <= 0)
+			return previous;
+		
+		// Rotates to the closer direction
+		double angledifference = current.getAngle() - previous.getAngle();
+		if (angledifference > 180)
+			angledifference -= 360;
+		else if (angledifference < -180)
+			angledifference += 360;
+		
+		double x = previous.getX() + (current.getX() - previous.getX()) * progress;
+		double y = previous.getY() + (current.getY() - previous.getY()) * progress;
+		double angle = HelpMath.checkDirection(previous.getAngle() + 
+				angledifference * progress);
+		double xscale = previous.getXScale() + 
+				(current.getXScale() - previous.getXScale()) * progress;
+		double yscale = previous.getYScale() + 
+				(current.getYScale() - previous.getYScale()) * progress;
+		
+		return new DrawnObjectState(x, y, angle, xscale, yscale, 
+				current.getDepth());
+	}
+}
@@ -0,0 +1,564 @@
+package drawnobjects;
+
+import handleds.LogicalHandled;
+import handleds.TimedActor;
+import handlers.ActorHandler;
+import helpAndEnums.Movement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import listeners.LogicalStateListener;
+
+import common.GameObject;
+
+/**
+ * PhysicWorld moves a large number of physicobjects at once. The speeds, 
+ * rotations, frictions and limits of the objects are kept in tables of 
+ * primitive values, one slot per object, and the whole world is moved in a 
+ * single loop. The objects in the world read and change their values from 
+ * their slots.<p>
+ *
+ * The objects' positions and angles are still kept by the objects 
+ * themselves, since the collision checking, the drawing and the listeners 
+ * depend on them. Each object is moved and rotated once per step.<p>
+ *
+ * The world must act before its objects on each step, either by being added 
+ * to the same actorhandler before them or by being in an earlier phase. 
+ * Only then do the objects move along the same route they would move when 
+ * moving themselves. The objects change their slots in their own act 
+ * events, so the world must never act at the same time with them and 
+ * shouldn't be added to the same parallelactorhandler with them.<p>
+ *
+ * Adding objects to a world is optional. An object in a world doesn't move 
+ * itself in its act event, so objects that don't do anything else don't 
+ * need to be added to an actorhandler at all. AdvancedPhysicDrawnObjects 
+ * still need their own act event though, since their moments are handled 
+ * there. Killing an object releases its slot.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see BasicPhysicDrawnObject#getPhysicWorld()
+ */
+public class PhysicWorld extends GameObject implements TimedActor, 
+		LogicalStateListener
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private BasicPhysicDrawnObject[] objects;
+	private SlotMovement[] movements;
+	private boolean[] actives;
+	private double[] hspeeds, vspeeds, rotations, frictions, 
+			rotationfrictions, maxspeeds, maxrotations;
+	// The movement of each object during the current step
+	private double[] xmoves, ymoves, anglemoves;
+	private int size;
+	private boolean active, acting;
+	// The objects removed while the world was acting
+	private ArrayList<BasicPhysicDrawnObject> removed;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new empty world
+	 * 
+	 * @param actorhandler The actorhandler that moves the world. The world 
+	 * should be added before its objects (optional)
+	 */
+	public PhysicWorld(ActorHandler actorhandler)
+	{
+		// Initializes attributes
+		this.objects = new BasicPhysicDrawnObject[0];
+		this.movements = new SlotMovement[0];
+		this.actives = new boolean[0];
+		this.hspeeds = new double[0];
+		this.vspeeds = new double[0];
+		this.rotations = new double[0];
+		this.frictions = new double[0];
+		this.rotationfrictions = new double[0];
+		this.maxspeeds = new double[0];
+		this.maxrotations = new double[0];
+		this.xmoves = new double[0];
+		this.ymoves = new double[0];
+		this.anglemoves = new double[0];
+		this.size = 0;
+		this.active = true;
+		this.acting = false;
+		this.removed = new ArrayList<BasicPhysicDrawnObject>();
+		
+		ensureCapacity(16);
+		
+		// Adds the world to the actorhandler if possible
+		if (actorhandler != null)
+			actorhandler.addActor(this);
+	}
+	
+	
+	// IMPLEMENTED METHODS	----------------------------------------------
+	
+	@Override
+	public boolean isActive()
+	{
+		return this.active;
+	}
+	
+	@Override
+	public boolean activate()
+	{
+		this.active = true;
+		return true;
+	}
+	
+	@Override
+	public boolean inactivate()
+	{
+		this.active = false;
+		return true;
+	}
+	
+	@Override
+	public synchronized boolean kill()
+	{
+		// The objects keep their values when the world dies. If the world is 
+		// acting, the objects are released at the end of the step.
+		if (this.acting)
+		{
+			for (int i = 0; i < this.size; i++)
+			{
+				this.removed.add(this.objects[i]);
+			}
+		}
+		else
+		{
+			while (this.size > 0)
+			{
+				release(this.objects[this.size - 1]);
+			}
+		}
+		
+		return super.kill();
+	}
+	
+	@Override
+	public void act()
+	{
+		act(1);
+	}
+	
+	@Override
+	public synchronized void act(double steps)
+	{
+		int number = this.size;
+		
+		// First calculates the new speeds and the movements of all the 
+		// objects
+		for (int i = 0; i < number; i++)
+		{
+			if (!this.actives[i])
+				continue;
+			
+			double hspeed = this.hspeeds[i];
+			double vspeed = this.vspeeds[i];
+			double rotation = this.rotations[i];
+			
+			this.xmoves[i] = hspeed * steps;
+			this.ymoves[i] = vspeed * steps;
+			
+			// Checks the friction
+			double friction = this.frictions[i] * steps;
+			if (friction > 0)
+			{
+				double speed = Math.sqrt(hspeed * hspeed + vspeed * vspeed);
+				
+				if (speed <= friction)
+				{
+					hspeed = 0;
+					vspeed = 0;
+				}
+				else
+				{
+					double multiplier = (speed - friction) / speed;
+					hspeed *= multiplier;
+					vspeed *= multiplier;
+				}
+			}
+			
+			// Also checks the maximum speed and rotation
+			double maxspeed = this.maxspeeds[i];
+			if (maxspeed >= 0)
+			{
+				double squaredspeed = hspeed * hspeed + vspeed * vspeed;
+				
+				if (squaredspeed > maxspeed * maxspeed)
+				{
+					double multiplier = maxspeed / Math.sqrt(squaredspeed);
+					hspeed *= multiplier;
+					vspeed *= multiplier;
+				}
+			}
+			
+			double maxrotation = this.maxrotations[i];
+			if (maxrotation >= 0 && Math.abs(rotation) > maxrotation)
+			{
+				if (rotation < 0)
+					rotation = -maxrotation;
+				else
+					rotation = maxrotation;
+			}
+			
+			this.anglemoves[i] = rotation * steps;
+			
+			// Slows down the rotation
+			double rotationfriction = this.rotationfrictions[i] * steps;
+			if (rotationfriction != 0)
+			{
+				if (Math.abs(rotation) <= rotationfriction)
+					rotation = 0;
+				else if (rotation > 0)
+					rotation -= rotationfriction;
+				else
+					rotation += rotationfriction;
+			}
+			
+			this.hspeeds[i] = hspeed;
+			this.vspeeds[i] = vspeed;
+			this.rotations[i] = rotation;
+		}
+		
+		// Then moves the objects. The objects removed during this are only 
+		// released afterwards.
+		this.acting = true;
+		for (int i = 0; i < number; i++)
+		{
+			if (!this.actives[i])
+				continue;
+			
+			double xmove = this.xmoves[i];
+			double ymove = this.ymoves[i];
+			double anglemove = this.anglemoves[i];
+			
+			// Objects that stay still aren't informed
+			if (xmove != 0 || ymove != 0 || anglemove != 0)
+				this.objects[i].addTransformation(xmove, ymove, anglemove);
+		}
+		this.acting = false;
+		
+		for (int i = 0; i < this.removed.size(); i++)
+		{
+			release(this.removed.get(i));
+		}
+		this.removed.clear();
+	}
+	
+	@Override
+	public void onActivityChange(LogicalHandled source, boolean active)
+	{
+		if (!(source instanceof BasicPhysicDrawnObject))
+			return;
+		
+		BasicPhysicDrawnObject object = (BasicPhysicDrawnObject) source;
+		
+		synchronized (this)
+		{
+			if (object.getPhysicWorld() == this)
+				this.actives[object.getPhysicSlot()] = active;
+		}
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return How many objects there are in the world
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	Movement getMovement(int slot)
+	{
+		return this.movements[slot];
+	}
+	
+	double getRotation(int slot)
+	{
+		return this.rotations[slot];
+	}
+	
+	void setRotation(int slot, double rotation)
+	{
+		this.rotations[slot] = rotation;
+	}
+	
+	double getFriction(int slot)
+	{
+		return this.frictions[slot];
+	}
+	
+	void setFriction(int slot, double friction)
+	{
+		this.frictions[slot] = friction;
+	}
+	
+	double getRotationFriction(int slot)
+	{
+		return this.rotationfrictions[slot];
+	}
+	
+	void setRotationFriction(int slot, double rotationfriction)
+	{
+		this.rotationfrictions[slot] = rotationfriction;
+	}
+	
+	double getMaxSpeed(int slot)
+	{
+		return this.maxspeeds[slot];
+	}
+	
+	void setMaxSpeed(int slot, double maxspeed)
+	{
+		this.maxspeeds[slot] = maxspeed;
+	}
+	
+	double getMaxRotation(int slot)
+	{
+		return this.maxrotations[slot];
+	}
+	
+	void setMaxRotation(int slot, double maxrotation)
+	{
+		this.maxrotations[slot] = maxrotation;
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Adds an object to the world. The object keeps its current movement, 
+	 * rotation, frictions and limits. If the object was in another world, it 
+	 * is removed from that world first.
+	 * 
+	 * @param object The object added to the world
+	 */
+	public void add(BasicPhysicDrawnObject object)
+	{
+		if (object == null || object.isDead())
+			return;
+		
+		PhysicWorld oldworld = object.getPhysicWorld();
+		
+		if (oldworld == this)
+			return;
+		if (oldworld != null)
+			oldworld.remove(object);
+		
+		synchronized (this)
+		{
+			ensureCapacity(this.size + 1);
+			
+			int slot = this.size;
+			Movement movement = object.getMovement();
+			
+			this.objects[slot] = object;
+			this.movements[slot] = new SlotMovement(this, slot);
+			this.actives[slot] = object.isActive();
+			this.hspeeds[slot] = movement.getHSpeed();
+			this.vspeeds[slot] = movement.getVSpeed();
+			this.rotations[slot] = object.getRotation();
+			this.frictions[slot] = object.getFriction();
+			this.rotationfrictions[slot] = object.getRotationFriction();
+			this.maxspeeds[slot] = object.getMaxSpeed();
+			this.maxrotations[slot] = object.getMaxRotation();
+			this.size ++;
+			
+			object.setPhysicWorld(this, slot);
+		}
+		
+		object.addLogicalStateListener(this);
+	}
+	
+	/**
+	 * Removes an object from the world. The object keeps the values it had 
+	 * in the world. If the world is acting, the object is removed at the end 
+	 * of the step.
+	 * 
+	 * @param object The object removed from the world
+	 */
+	public synchronized void remove(BasicPhysicDrawnObject object)
+	{
+		if (object == null || object.getPhysicWorld() != this)
+			return;
+		
+		if (this.acting)
+			this.removed.add(object);
+		else
+			release(object);
+	}
+	
+	private void release(BasicPhysicDrawnObject object)
+	{
+		// The object may have been released already
+		if (object.getPhysicWorld() != this)
+			return;
+		
+		int slot = object.getPhysicSlot();
+		SlotMovement movement = this.movements[slot];
+		
+		// Gives the values back to the object
+		object.setPhysicWorld(null, -1);
+		object.getMovement().set(this.hspeeds[slot], this.vspeeds[slot]);
+		object.setRotation(this.rotations[slot]);
+		object.setFriction(this.frictions[slot]);
+		object.setRotationFriction(this.rotationfrictions[slot]);
+		object.setMaxSpeed(this.maxspeeds[slot]);
+		object.setMaxRotation(this.maxrotations[slot]);
+		object.removeLogicalStateListener(this);
+		movement.detach();
+		
+		// The last object is moved to the released slot
+		int last = this.size - 1;
+		if (slot != last)
+		{
+			this.objects[slot] = this.objects[last];
+			this.movements[slot] = this.movements[last];
+			this.actives[slot] = this.actives[last];
+			this.hspeeds[slot] = this.hspeeds[last];
+			this.vspeeds[slot] = this.vspeeds[last];
+			this.rotations[slot] = this.rotations[last];
+			this.frictions[slot] = this.frictions[last];
+			this.rotationfrictions[slot] = this.rotationfrictions[last];
+			this.maxspeeds[slot] = this.maxspeeds[last];
+			this.maxrotations[slot] = this.maxrotations[last];
+			
+			this.movements[slot].setSlot(slot);
+			this.objects[slot].setPhysicWorld(this, slot);
+		}
+		
+		this.objects[last] = null;
+		this.movements[last] = null;
+		this.size --;
+	}
+	
+	private void ensureCapacity(int capacity)
+	{
+		if (capacity <= this.objects.length)
+			return;
+		
+		// The tables at least double in size when they grow
+		int newcapacity = Math.max(capacity, this.objects.length * 2);
+		
+		this.objects = Arrays.copyOf(this.objects, newcapacity);
+		this.movements = Arrays.copyOf(this.movements, newcapacity);
+		this.actives = Arrays.copyOf(this.actives, newcapacity);
+		this.hspeeds = Arrays.copyOf(this.hspeeds, newcapacity);
+		this.vspeeds = Arrays.copyOf(this.vspeeds, newcapacity);
+		this.rotations = Arrays.copyOf(this.rotations, newcapacity);
+		this.frictions = Arrays.copyOf(this.frictions, newcapacity);
+		this.rotationfrictions = Arrays.copyOf(this.rotationfrictions, 
+				newcapacity);
+		this.maxspeeds = Arrays.copyOf(this.maxspeeds, newcapacity);
+		this.maxrotations = Arrays.copyOf(this.maxrotations, newcapacity);
+		this.xmoves = Arrays.copyOf(this.xmoves, newcapacity);
+		this.ymoves = Arrays.copyOf(this.ymoves, newcapacity);
+		this.anglemoves = Arrays.copyOf(this.anglemoves, newcapacity);
+	}
+	
+	
+	// SUBCLASSES	------------------------------------------------------
+	
+	/**
+	 * SlotMovement is a movement whose speeds are kept in the world's tables. 
+	 * When the object leaves the world, the movement keeps its last speeds.
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class SlotMovement extends Movement
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private PhysicWorld world;
+		private int slot; // Negative after the object has left the world
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public SlotMovement(PhysicWorld world, int slot)
+		{
+			super(0, 0);
+			
+			// Initializes attributes
+			this.world = world;
+			this.slot = slot;
+		}
+		
+		
+		// IMPLEMENTED METHODS	----------------------------------------
+		
+		@Override
+		public double getHSpeed()
+		{
+			if (this.slot < 0)
+				return super.getHSpeed();
+			return this.world.hspeeds[this.slot];
+		}
+		
+		@Override
+		public double getVSpeed()
+		{
+			if (this.slot < 0)
+				return super.getVSpeed();
+			return this.world.vspeeds[this.slot];
+		}
+		
+		@Override
+		public void setHSpeed(double hspeed)
+		{
+			if (this.slot < 0)
+				super.setHSpeed(hspeed);
+			else
+				this.world.hspeeds[this.slot] = hspeed;
+		}
+		
+		@Override
+		public void setVSpeed(double vspeed)
+		{
+			if (this.slot < 0)
+				super.setVSpeed(vspeed);
+			else
+				this.world.vspeeds[this.slot] = vspeed;
+		}
+		
+		@Override
+		public void set(double hspeed, double vspeed)
+		{
+			if (this.slot < 0)
+				super.set(hspeed, vspeed);
+			else
+			{
+				this.world.hspeeds[this.slot] = hspeed;
+				this.world.vspeeds[this.slot] = vspeed;
+			}
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		public void setSlot(int slot)
+		{
+			this.slot = slot;
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		// Keeps the current speeds after the object has left the world
+		public void detach()
+		{
+			super.set(getHSpeed(), getVSpeed());
+			this.slot = -1;
+		}
+	}
+}
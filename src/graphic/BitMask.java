@@ -0,0 +1,209 @@
+package graphic;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * BitMask tells which pixels of an image belong to a mask. Each pixel is 
+ * stored as a single bit so that checking a pixel only takes a shift and a 
+ * mask. The mask also remembers the smallest rectangle that contains all of 
+ * its pixels.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see Sprite#getMask(int)
+ * @see MaskChecker
+ */
+public class BitMask
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	/**
+	 * The color of the pixels that belong to the mask: bright red 
+	 * (255, 0, 0)
+	 */
+	public static final int MASKCOLOR = -65536;
+	
+	private int width, height, rowlength; // Rowlength is in longs
+	private long[] bits;
+	// The bounds of the mask's pixels (min > max if the mask is empty)
+	private int minx, miny, maxx, maxy;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new mask from the pixels of the given image that have the 
+	 * given color
+	 * 
+	 * @param image The image the mask is created from
+	 * @param color The color of the pixels that belong to the mask (argb)
+	 * @see #MASKCOLOR
+	 */
+	public BitMask(BufferedImage image, int color)
+	{
+		this(image.getWidth(), image.getHeight());
+		
+		// Reads the image a row at a time
+		int[] row = new int[this.width];
+		for (int y = 0; y < this.height; y++)
+		{
+			image.getRGB(0, y, this.width, 1, row, 0, this.width);
+			
+			for (int x = 0; x < this.width; x++)
+			{
+				if (row[x] == color)
+					setPixel(x, y);
+			}
+		}
+	}
+	
+	/**
+	 * Creates a new mask that contains the pixels of all of the given 
+	 * masks. All of the masks must be the same size.
+	 * 
+	 * @param masks The masks that are combined
+	 */
+	public BitMask(BitMask[] masks)
+	{
+		this(masks[0].width, masks[0].height);
+		
+		for (int i = 0; i < masks.length; i++)
+		{
+			for (int j = 0; j < this.bits.length; j++)
+			{
+				this.bits[j] |= masks[i].bits[j];
+			}
+			
+			this.minx = Math.min(this.minx, masks[i].minx);
+			this.miny = Math.min(this.miny, masks[i].miny);
+			this.maxx = Math.max(this.maxx, masks[i].maxx);
+			this.maxy = Math.max(this.maxy, masks[i].maxy);
+		}
+	}
+	
+	private BitMask(int width, int height)
+	{
+		// Initializes attributes
+		this.width = width;
+		this.height = height;
+		this.rowlength = (width + 63) / 64;
+		this.bits = new long[this.rowlength * height];
+		this.minx = width;
+		this.miny = height;
+		this.maxx = -1;
+		this.maxy = -1;
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return The width of the mask (pixels)
+	 */
+	public int getWidth()
+	{
+		return this.width;
+	}
+	
+	/**
+	 * @return The height of the mask (pixels)
+	 */
+	public int getHeight()
+	{
+		return this.height;
+	}
+	
+	/**
+	 * @return Doesn't the mask contain any pixels
+	 */
+	public boolean isEmpty()
+	{
+		return this.maxx < this.minx;
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Tells whether the mask contains the given pixel
+	 * 
+	 * @param x The x-coordinate of the pixel
+	 * @param y The y-coordinate of the pixel
+	 * @return Does the mask contain the pixel
+	 */
+	public boolean contains(int x, int y)
+	{
+		if (x < this.minx || y < this.miny || x > this.maxx || y > this.maxy)
+			return false;
+		
+		return (this.bits[y * this.rowlength + (x >> 6)] & (1L << x)) != 0;
+	}
+	
+	/**
+	 * Tells whether the two masks have any pixels in common when the other 
+	 * mask is placed at the given position. The masks can't be rotated or 
+	 * scaled.
+	 * 
+	 * @param other The other mask
+	 * @param xoffset Where the other mask's left side is in this mask
+	 * @param yoffset Where the other mask's top is in this mask
+	 * @return Do the masks overlap
+	 */
+	public boolean overlaps(BitMask other, int xoffset, int yoffset)
+	{
+		// Only the rows and columns where both masks have pixels are checked
+		int minx = Math.max(this.minx, other.minx + xoffset);
+		int miny = Math.max(this.miny, other.miny + yoffset);
+		int maxx = Math.min(this.maxx, other.maxx + xoffset);
+		int maxy = Math.min(this.maxy, other.maxy + yoffset);
+		
+		if (minx > maxx || miny > maxy)
+			return false;
+		
+		for (int y = miny; y <= maxy; y++)
+		{
+			int rowstart = y * this.rowlength;
+			
+			for (int word = minx >> 6; word <= maxx >> 6; word++)
+			{
+				if ((this.bits[rowstart + word] & other.getBits(word * 64 - 
+						xoffset, y - yoffset)) != 0)
+					return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	private void setPixel(int x, int y)
+	{
+		this.bits[y * this.rowlength + (x >> 6)] |= 1L << x;
+		
+		this.minx = Math.min(this.minx, x);
+		this.miny = Math.min(this.miny, y);
+		this.maxx = Math.max(this.maxx, x);
+		this.maxy = Math.max(this.maxy, y);
+	}
+	
+	// Returns the 64 pixels of the row starting from x as bits. The pixels 
+	// outside the mask are empty.
+	private long getBits(int x, int y)
+	{
+		int word = x >> 6;
+		int shift = x & 63;
+		long bits = getWord(word, y) >>> shift;
+		
+		if (shift != 0)
+			bits |= getWord(word + 1, y) << (64 - shift);
+		
+		return bits;
+	}
+	
+	private long getWord(int word, int y)
+	{
+		if (word < 0 || word >= this.rowlength || y < 0 || y >= this.height)
+			return 0;
+		
+		return this.bits[y * this.rowlength + word];
+	}
+}
@@ -17,8 +17,6 @@ public class MaskChecker
 	// ATTRIBUTES	-----------------------------------------------------
 	
 	private Sprite mask;
-	// Mask contains only bright red (255, 0, 0) pixels
-	private static int maskcolor = -65536;
 	
 	
 	// CONSTRUCTOR	-----------------------------------------------------
@@ -32,6 +30,10 @@ public class MaskChecker
 	{
 		// Initializes attributes
 		this.mask = mask;
+		
+		// The masks are prepared beforehand so that the checks are fast
+		if (mask != null)
+			mask.getMask(-1);
 	}
 	
 	
@@ -51,6 +53,9 @@ public class MaskChecker
 	public void setMask(Sprite newmask)
 	{
 		this.mask = newmask;
+		
+		if (newmask != null)
+			newmask.getMask(-1);
 	}
 	
 	
@@ -115,21 +120,36 @@ public class MaskChecker
 				getMask().getHeight()))
 			return false;
 
-		if (maskindex >= 0)
-		{
-			int c = this.mask.getSubImage(maskindex).getRGB(relativep.x, relativep.y);
-			return c == maskcolor;
-		}
-		// If maskindex was negative has to check each subimage
-		else
-		{
-			for (int i = 0; i < getMask().getImageNumber(); i++)
-			{
-				int c = getMask().getSubImage(i).getRGB(relativep.x, relativep.y);
-				if (c == maskcolor)
-					return true;
-			}
-			return false;
-		}
+		// If maskindex was negative, the mask that combines all of the 
+		// subimages is used
+		return getMask().getMask(maskindex).contains(relativep.x, relativep.y);
+	}
+	
+	/**
+	 * Tells whether the masks of two maskcheckers overlap. The masks are 
+	 * compared as they are, without any rotation or scaling, so this only 
+	 * works for objects that are drawn that way.
+	 * 
+	 * @param maskindex What index of this checker's mask is used (negative 
+	 * if any of the subimages may overlap)
+	 * @param other The other maskchecker
+	 * @param othermaskindex What index of the other checker's mask is used 
+	 * (negative if any of the subimages may overlap)
+	 * @param xoffset Where the other mask's left side is relative to this 
+	 * mask's left side (pixels)
+	 * @param yoffset Where the other mask's top is relative to this 
+	 * mask's top (pixels)
+	 * @return Do the masks overlap. If either of the checkers doesn't use a 
+	 * mask, returns true
+	 */
+	public boolean maskOverlaps(int maskindex, MaskChecker other, 
+			int othermaskindex, int xoffset, int yoffset)
+	{
+		// In case mask is not used (mask == null), always returns true
+		if (getMask() == null || other.getMask() == null)
+			return true;
+		
+		return getMask().getMask(maskindex).overlaps(
+				other.getMask().getMask(othermaskindex), xoffset, yoffset);
 	}
 }
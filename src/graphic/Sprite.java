@@ -22,6 +22,8 @@ public class Sprite implements BankObject
 	// ATTRIBUTES	-------------------------------------------------------
 	
 	private BufferedImage[] images;
+	private volatile BitMask[] masks; // Null until needed
+	private BitMask combinedmask;
 	
 	private int origX, origY;
 	private boolean dead;
@@ -54,6 +56,8 @@ public class Sprite implements BankObject
 		this.origX = originX;
 		this.origY = originY;
 		this.dead = false;
+		this.masks = null;
+		this.combinedmask = null;
 		
 		// Loads the image
 		File img = new File("src/data/" + filename);
@@ -166,6 +170,55 @@ public class Sprite implements BankObject
 		return this.images[imageIndex];
 	}
 	
+	/**
+	 * Returns the mask made from the bright red pixels of a subimage. The 
+	 * masks of all of the subimages are created the first time a mask is 
+	 * needed.
+	 * 
+	 * @param imageIndex The index of the subimage [0, numberOfImages[. If 
+	 * the index is negative, the returned mask contains the pixels of all of 
+	 * the subimages.
+	 * @return The mask of the subimage
+	 * @see BitMask#MASKCOLOR
+	 */
+	public BitMask getMask(int imageIndex)
+	{
+		// Sprites that couldn't be loaded don't have masks
+		if (this.images == null)
+			return null;
+		
+		// Once the masks exist they are read without locking
+		BitMask[] masks = this.masks;
+		if (masks == null)
+			masks = createMasks();
+		
+		if (imageIndex < 0)
+			return this.combinedmask;
+		else if (imageIndex >= masks.length)
+			return masks[imageIndex % masks.length];
+		else
+			return masks[imageIndex];
+	}
+	
+	// Creates the masks of the subimages unless another thread already did. 
+	// The combined mask is set before the masks are published so that it's 
+	// visible to anyone who can see the masks.
+	private synchronized BitMask[] createMasks()
+	{
+		if (this.masks == null)
+		{
+			BitMask[] masks = new BitMask[this.images.length];
+			for (int i = 0; i < this.images.length; i++)
+			{
+				masks[i] = new BitMask(this.images[i], BitMask.MASKCOLOR);
+			}
+			this.combinedmask = new BitMask(masks);
+			this.masks = masks;
+		}
+		
+		return this.masks;
+	}
+	
 	// TODO: If you get bored, try to implement filters into the project
 	// check: http://docs.oracle.com/javase/tutorial/2d/images/drawimage.html
 }
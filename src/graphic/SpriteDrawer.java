@@ -2,8 +2,12 @@ package graphic;
 
 import java.awt.Graphics2D;
 
-import handleds.Actor;
+import listeners.LogicalStateListener;
+
+import handleds.ObservableLogicalHandled;
+import handleds.TimedActor;
 import handlers.ActorHandler;
+import handlers.LogicalStateListeners;
 
 /**
  * Spritedrawer is able to draw animated sprites for an object. Object's can 
@@ -12,13 +16,14 @@ import handlers.ActorHandler;
  * @author Mikko Hilpinen.
  *         Created 2.7.2013.
  */
-public class SpriteDrawer implements Actor
+public class SpriteDrawer implements TimedActor, ObservableLogicalHandled
 {
 	// ATTRIBUTES	-------------------------------------------------------
 	
 		private Sprite sprite;
 		private double imageSpeed, imageIndex;
 		private boolean alive, active;
+		private LogicalStateListeners statelisteners;
 		
 		
 	// CONSTRUCTOR	-------------------------------------------------------
@@ -39,6 +44,7 @@ public class SpriteDrawer implements Actor
 		this.imageIndex = 0;
 		this.alive = true;
 		this.active = true;
+		this.statelisteners = new LogicalStateListeners(this);
 		
 		// Adds the spritedrawer to the handler, if possible
 		if (animator != null)
@@ -57,14 +63,34 @@ public class SpriteDrawer implements Actor
 	@Override
 	public boolean activate()
 	{
-		this.active = true;
+		if (!this.active)
+		{
+			this.active = true;
+			this.statelisteners.informActivityChange(this.active);
+		}
 		return true;
 	}
+	
+	@Override
+	public void addLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.add(listener);
+	}
+	
+	@Override
+	public void removeLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.remove(listener);
+	}
 
 	@Override
 	public boolean inactivate()
 	{
-		this.active = false;
+		if (this.active)
+		{
+			this.active = false;
+			this.statelisteners.informActivityChange(this.active);
+		}
 		return true;
 	}
 
@@ -83,9 +109,15 @@ public class SpriteDrawer implements Actor
 
 	@Override
 	public void act()
+	{
+		act(1);
+	}
+	
+	@Override
+	public void act(double steps)
 	{
 		// Animates the sprite
-		animate();
+		animate(steps);
 	}
 	
 	
@@ -168,9 +200,9 @@ public class SpriteDrawer implements Actor
 	}
 	
 	// Handles the change of the image index
-	private void animate()
+	private void animate(double steps)
 	{
-		this.imageIndex += getImageSpeed();
+		this.imageIndex += getImageSpeed() * steps;
 		checkImageIndex();
 	}
 	
@@ -0,0 +1,30 @@
+package handleds;
+
+import listeners.DrawableStateListener;
+
+/**
+ * Observable drawables inform their listeners each time they become 
+ * visible or invisible and each time their depth changes. The 
+ * drawablehandlers use this to know whether they have visible handleds 
+ * without checking each of them and to keep their handleds in order.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ */
+public interface ObservableDrawable extends Drawable
+{
+	/**
+	 * Adds a new listener that will be informed when the object becomes 
+	 * visible or invisible or when its depth changes. A listener is only added once.
+	 * 
+	 * @param listener The listener that will be informed
+	 */
+	public void addDrawableStateListener(DrawableStateListener listener);
+	
+	/**
+	 * Removes a listener so that it won't be informed anymore
+	 * 
+	 * @param listener The listener that will no longer be informed
+	 */
+	public void removeDrawableStateListener(DrawableStateListener listener);
+}
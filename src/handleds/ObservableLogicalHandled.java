@@ -0,0 +1,29 @@
+package handleds;
+
+import listeners.LogicalStateListener;
+
+/**
+ * Observable logicalhandleds inform their listeners each time they become 
+ * active or inactive. The logicalhandlers use this to know whether they 
+ * have active handleds without checking each of them.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ */
+public interface ObservableLogicalHandled extends LogicalHandled
+{
+	/**
+	 * Adds a new listener that will be informed when the object becomes 
+	 * active or inactive. A listener is only added once.
+	 * 
+	 * @param listener The listener that will be informed
+	 */
+	public void addLogicalStateListener(LogicalStateListener listener);
+	
+	/**
+	 * Removes a listener so that it won't be informed anymore
+	 * 
+	 * @param listener The listener that will no longer be informed
+	 */
+	public void removeLogicalStateListener(LogicalStateListener listener);
+}
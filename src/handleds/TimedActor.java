@@ -0,0 +1,27 @@
+package handleds;
+
+
+/**
+ * Timed actors are actors that can take the length of the step into account. 
+ * Instead of assuming that each step lasts the same amount of time, the timed 
+ * actors are told how long the step was. This way the game keeps its speed 
+ * even when the steps are longer or shorter than usual.<p>
+ *
+ * The length of a step is measured in standard steps (15 milliseconds). 
+ * Speeds and other changes that were previously defined per step should be 
+ * multiplied with the step length.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see handlers.StepHandler#STEPLENGTH
+ */
+public interface TimedActor extends Actor
+{
+	/**
+	 * This is the actors action, which will be called at each step
+	 * 
+	 * @param steps How many standard steps passed since the last call 
+	 * (can be fractional)
+	 */
+	public void act(double steps);
+}
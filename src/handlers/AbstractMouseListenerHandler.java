@@ -2,8 +2,7 @@ package handlers;
 
 import java.util.ArrayList;
 
-import handleds.Actor;
-import handleds.Handled;
+import handleds.TimedActor;
 import listeners.AdvancedMouseListener;
 
 /**
@@ -13,8 +12,8 @@ import listeners.AdvancedMouseListener;
  * @author Mikko Hilpinen.
  *         Created 28.12.2012.
  */
-public abstract class AbstractMouseListenerHandler extends LogicalHandler 
-implements Actor
+public abstract class AbstractMouseListenerHandler extends LogicalHandler<AdvancedMouseListener>
+implements TimedActor
 {
 	// ATTRIBUTES	-------------------------------------------------------
 	
@@ -55,6 +54,13 @@ implements Actor
 	
 	// IMPLEMENTED METHODS	-----------------------------------------------
 	
+	@Override
+	public void act(double steps)
+	{
+		// The mouse events are informed once per step regardless of its length
+		act();
+	}
+	
 	@Override
 	public void act()
 	{
@@ -251,12 +257,7 @@ implements Actor
 	 */
 	protected AdvancedMouseListener getListener(int index)
 	{
-		Handled maybeListener = getHandled(index);
-		
-		if (maybeListener instanceof AdvancedMouseListener)
-			return (AdvancedMouseListener) maybeListener;
-		else
-			return null;
+		return getHandled(index);
 	}
 	
 	/**
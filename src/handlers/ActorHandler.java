@@ -1,18 +1,26 @@
 package handlers;
 
 import handleds.Actor;
-import handleds.Handled;
+import handleds.TimedActor;
 
 
 /**
  * The object from this class will control multiple actors, calling their 
- * act-methods and removing them when necessary
+ * act-methods and removing them when necessary.<p>
+ *
+ * Timed actors are told the length of each step. Other actors are called 
+ * once for each full standard step that has passed.
  *
  * @author Mikko Hilpinen.
  *         Created 27.11.2012.
  */
-public class ActorHandler extends LogicalHandler implements Actor
+public class ActorHandler extends LogicalHandler<Actor> implements TimedActor
 {	
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private double legacysteps;
+	
+	
 	// CONSTRUCTOR	------------------------------------------------------
 	
 	/**
@@ -24,6 +32,9 @@ public class ActorHandler extends LogicalHandler implements Actor
 	public ActorHandler(boolean autodeath, ActorHandler superhandler)
 	{
 		super(autodeath, superhandler);
+		
+		// Initializes attributes
+		this.legacysteps = 0;
 	}
 	
 	
@@ -31,15 +42,23 @@ public class ActorHandler extends LogicalHandler implements Actor
 
 	@Override
 	public void act()
+	{
+		act(1);
+	}
+	
+	@Override
+	public void act(double steps)
 	{
 		// Checks the liveliness of the actors
 		removeDeadHandleds();
 		
+		int legacyacts = countLegacyActs(steps);
+		Actor[] actors = getHandledArray();
+		
 		// This calls for all active actor's act method
-		for (int i = 0; i < getHandledNumber(); i++)
+		for (int i = 0; i < actors.length; i++)
 		{
-			if (getActor(i).isActive())
-				getActor(i).act();
+			callAct(actors[i], steps, legacyacts);
 		}
 	}
 	
@@ -52,15 +71,70 @@ public class ActorHandler extends LogicalHandler implements Actor
 	
 	// OTHER METHODS	---------------------------------------------------
 	
-	// Casts the handled to actor (or null)
-	private Actor getActor(int index)
+	/**
+	 * Calculates how many times the actors that don't know about the step 
+	 * length should act during this step. This should be called once per 
+	 * step.
+	 * 
+	 * @param steps How many standard steps passed since the last step
+	 * @return How many times the legacy actors should act
+	 */
+	protected int countLegacyActs(double steps)
 	{
-		Handled maybeActor = getHandled(index);
+		this.legacysteps += steps;
+		int legacyacts = (int) this.legacysteps;
+		this.legacysteps -= legacyacts;
 		
-		if (maybeActor instanceof Actor)
-			return (Actor) maybeActor;
+		return legacyacts;
+	}
+	
+	/**
+	 * Calls the act event of a single actor, if it is active
+	 * 
+	 * @param a The actor that should act
+	 * @param steps How many standard steps passed since the last step
+	 * @param legacyacts How many times the actor should act if it isn't a 
+	 * timed actor
+	 * @see #countLegacyActs(double)
+	 */
+	protected void callAct(Actor a, double steps, int legacyacts)
+	{
+		if (a == null || !a.isActive())
+			return;
+		
+		// Measures the time used if profiling is on
+		HandlerProfiler profiler = HandlerProfiler.getActiveProfiler();
+		long start = 0;
+		if (profiler != null)
+		{
+			profiler.enter(this, a, false);
+			start = System.nanoTime();
+		}
+		
+		if (a instanceof TimedActor)
+			((TimedActor) a).act(steps);
 		else
-			return null;
+		{
+			for (int i = 0; i < legacyacts; i++)
+			{
+				a.act();
+			}
+		}
+		
+		if (profiler != null)
+			profiler.record(this, a, System.nanoTime() - start, false);
+	}
+	
+	/**
+	 * Casts the handled to actor
+	 * 
+	 * @param index The index of the actor
+	 * @return The actor from the index (or null if no actor was found from 
+	 * the index)
+	 */
+	protected Actor getActor(int index)
+	{
+		return getHandled(index);
 	}
 	
 	/**
@@ -0,0 +1,30 @@
+package handlers;
+
+/**
+ * Broadphase finds the collisionlisteners and collidables that may collide 
+ * with each other so that the exact collision checks only need to be done 
+ * for those pairs. Each object is represented by a rectangle (bounds) that 
+ * contains the whole object. Objects whose size isn't known have infinite 
+ * bounds.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see CollisionHandler#setBroadPhase(BroadPhase)
+ */
+public interface BroadPhase
+{
+	/**
+	 * Finds the listeners and collidables whose bounds overlap. The bounds 
+	 * are given as four values per object: minimum x, minimum y, maximum x 
+	 * and maximum y.
+	 * 
+	 * @param listenerbounds The bounds of the listeners
+	 * @param listenernumber How many listeners there are
+	 * @param collidablebounds The bounds of the collidables
+	 * @param collidablenumber How many collidables there are
+	 * @param pairs The pairs that may collide are added here
+	 */
+	public void findPairs(double[] listenerbounds, int listenernumber, 
+			double[] collidablebounds, int collidablenumber, 
+			CandidatePairs pairs);
+}
@@ -0,0 +1,28 @@
+package handlers;
+
+/**
+ * BruteForceBroadPhase pairs every listener with every collidable without 
+ * looking at their bounds. This is how the collisions were checked before 
+ * the broadphases were added.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ */
+public class BruteForceBroadPhase implements BroadPhase
+{
+	// IMPLEMENTED METHODS	--------------------------------------------
+	
+	@Override
+	public void findPairs(double[] listenerbounds, int listenernumber, 
+			double[] collidablebounds, int collidablenumber, 
+			CandidatePairs pairs)
+	{
+		for (int listener = 0; listener < listenernumber; listener++)
+		{
+			for (int collidable = 0; collidable < collidablenumber; collidable++)
+			{
+				pairs.add(listener, collidable);
+			}
+		}
+	}
+}
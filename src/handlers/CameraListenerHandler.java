@@ -1,6 +1,5 @@
 package handlers;
 
-import handleds.Handled;
 import listeners.CameraListener;
 
 /**
@@ -9,7 +8,7 @@ import listeners.CameraListener;
  * @author Mikko Hilpinen.
  *         Created 7.12.2012.
  */
-public class CameraListenerHandler extends LogicalHandler implements CameraListener
+public class CameraListenerHandler extends LogicalHandler<CameraListener> implements CameraListener
 {	
 	// CONSTRUCTOR	------------------------------------------------------
 	
@@ -63,10 +62,6 @@ public class CameraListenerHandler extends LogicalHandler implements CameraListe
 	// Casts the handled to listener
 	private CameraListener getListener(int index)
 	{
-		Handled maybeListener = getHandled(index);
-		if (maybeListener instanceof CameraListener)
-			return (CameraListener) maybeListener;
-		else
-			return null;
+		return getHandled(index);
 	}
 }
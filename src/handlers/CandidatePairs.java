@@ -0,0 +1,98 @@
+package handlers;
+
+import java.util.Arrays;
+
+/**
+ * CandidatePairs holds the listener and collidable pairs a broadphase has 
+ * found. The pairs are stored as indexes to the arrays that were given to the 
+ * broadphase.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see BroadPhase
+ */
+public class CandidatePairs
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	// The listener index is in the upper and the collidable index in the 
+	// lower half of each pair
+	private long[] pairs;
+	private int size;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new empty set of pairs
+	 */
+	public CandidatePairs()
+	{
+		// Initializes attributes
+		this.pairs = new long[16];
+		this.size = 0;
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return How many pairs there are
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * @param index The index of the pair
+	 * @return The index of the pair's listener
+	 */
+	public int getListenerIndex(int index)
+	{
+		return (int) (this.pairs[index] >>> 32);
+	}
+	
+	/**
+	 * @param index The index of the pair
+	 * @return The index of the pair's collidable
+	 */
+	public int getCollidableIndex(int index)
+	{
+		return (int) this.pairs[index];
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Adds a new pair
+	 * 
+	 * @param listenerindex The index of the listener
+	 * @param collidableindex The index of the collidable
+	 */
+	public void add(int listenerindex, int collidableindex)
+	{
+		if (this.size == this.pairs.length)
+			this.pairs = Arrays.copyOf(this.pairs, this.size * 2);
+		
+		this.pairs[this.size++] = ((long) listenerindex << 32) |
+				(collidableindex & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Removes all of the pairs
+	 */
+	public void clear()
+	{
+		this.size = 0;
+	}
+	
+	/**
+	 * Sorts the pairs by their listeners and then by their collidables
+	 */
+	public void sort()
+	{
+		Arrays.sort(this.pairs, 0, this.size);
+	}
+}
@@ -1,7 +1,6 @@
 package handlers;
 
 import handleds.Collidable;
-import handleds.Handled;
 
 /**
  * This class handles multiple collidables. Any collision checks made for this 
@@ -10,7 +9,7 @@ import handleds.Handled;
  * @author Mikko Hilpinen.
  *         Created 18.6.2013.
  */
-public class CollidableHandler extends Handler implements Collidable
+public class CollidableHandler extends Handler<Collidable> implements Collidable
 {
 	// CONSTRUCTOR	------------------------------------------------------
 	
@@ -31,6 +30,9 @@ public class CollidableHandler extends Handler implements Collidable
 	@Override
 	public boolean isSolid()
 	{
+		// The handleds added during this step are counted as well
+		applyQueuedHandleds();
+		
 		// Handler is solid if any of the objects are solid
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
@@ -45,6 +47,8 @@ public class CollidableHandler extends Handler implements Collidable
 	public boolean makeSolid()
 	{
 		boolean returnvalue = true;
+		// The handleds added during this step are affected as well
+		removeDeadHandleds();
 		// Tries to make all of the collidables solid
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
@@ -59,6 +63,8 @@ public class CollidableHandler extends Handler implements Collidable
 	public boolean makeUnsolid()
 	{
 		boolean returnvalue = true;
+		// The handleds added during this step are affected as well
+		removeDeadHandleds();
 		// Tries to make all of the collidables solid
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
@@ -87,12 +93,7 @@ public class CollidableHandler extends Handler implements Collidable
 	 */
 	protected Collidable getCollidable(int index)
 	{
-		Handled maybecollidable = getHandled(index);
-		// Casts the handled to collidable
-		if (maybecollidable instanceof Collidable)
-			return (Collidable) maybecollidable;
-		else
-			return null;
+		return getHandled(index);
 	}
 	
 	/**
@@ -1,24 +1,39 @@
 package handlers;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 
+import listeners.BufferedCollisionListener;
 import listeners.CollisionListener;
-import handleds.Actor;
+import listeners.ContactListener;
 import handleds.Collidable;
-import handleds.Handled;
+import handleds.TimedActor;
 import helpAndEnums.DoublePoint;
+import drawnobjects.DimensionalDrawnObject;
+import drawnobjects.DrawnObject;
 
 /**
  * A handler that checks collisions between multiple collisionlisteners and 
- * Collidables
+ * Collidables. A broadphase is used for finding the listeners and 
+ * collidables that are near each other before the exact collision checks. 
+ * The tables used in the checks are reused between the steps and the 
+ * bufferedcollisionlisteners are informed without creating new objects.<p>
+ * 
+ * The results of each listener-collidable pair are remembered between the 
+ * steps if a refresh interval longer than 1 is set, so that the previous 
+ * results are used as long as neither of the objects has moved. By default 
+ * the pairs are checked on every step and the results aren't remembered. 
+ * Contactlisteners are also informed when their contacts begin and end.
  *
  * @author Mikko Hilpinen.
  *         Created 18.6.2013.
  * @warning There might be some inaccuracies if CollidableHandlers are added 
  * to the collidables
  */
-public class CollisionHandler extends LogicalHandler implements Actor
+public class CollisionHandler extends LogicalHandler<CollisionListener> implements TimedActor
 {
 	// TODO: Add separate collisionListenerHandler class (difficult to implement 
 	// since the class needs to access the listeners directly and not through 
@@ -28,7 +43,31 @@ public class CollisionHandler extends LogicalHandler implements Actor
 	
 	// ATTRIBUTES	-----------------------------------------------------
 	
+	/**
+	 * How many steps the previous collision results can be used for by 
+	 * default before the points are checked again. By default the results 
+	 * aren't remembered at all since a collidable may change its shape or 
+	 * solidity without moving.
+	 */
+	public static final int DEFAULTREFRESHINTERVAL = 1;
+	
 	private CollidableHandler collidablehandler;
+	private BroadPhase broadphase;
+	private CandidatePairs pairs;
+	private CollisionListener[] activelisteners;
+	private double[][] listenercoordinates;
+	// The handler's own coordinate tables, never borrowed from the listeners
+	private double[][] ownedcoordinates;
+	private int[] listenerpointnumbers;
+	private double[] listenerbounds, collidablebounds;
+	private Collidable[] solidcollidables;
+	private CollisionBuffer collisions;
+	private IdentityHashMap<CollisionListener, ContactRecord> contacts;
+	private Collidable[] pointcolliders;
+	private int refreshinterval;
+	private long stepnumber;
+	private int lastcandidatepairs, lastbruteforcepairs, lastcachedpairs;
+	private long candidatepairs, bruteforcepairs;
 	
 	
 	// CONSTRUCTOR	-----------------------------------------------------
@@ -46,66 +85,162 @@ public class CollisionHandler extends LogicalHandler implements Actor
 		
 		// Initializes attributes
 		this.collidablehandler = new CollidableHandler(false, null);
+		this.broadphase = new SweepAndPruneBroadPhase();
+		this.pairs = new CandidatePairs();
+		this.activelisteners = new CollisionListener[0];
+		this.listenercoordinates = new double[0][];
+		this.ownedcoordinates = new double[0][];
+		this.listenerpointnumbers = new int[0];
+		this.listenerbounds = new double[0];
+		this.collidablebounds = new double[0];
+		this.solidcollidables = new Collidable[0];
+		this.collisions = new CollisionBuffer();
+		this.contacts = new IdentityHashMap<CollisionListener, ContactRecord>();
+		this.pointcolliders = new Collidable[0];
+		this.refreshinterval = DEFAULTREFRESHINTERVAL;
+		this.stepnumber = 0;
+		this.lastcandidatepairs = 0;
+		this.lastbruteforcepairs = 0;
+		this.lastcachedpairs = 0;
+		this.candidatepairs = 0;
+		this.bruteforcepairs = 0;
 	}
 	
 	
 	// IMPLEMENTED METHODS	--------------------------------------------
+	
+	@Override
+	public void act(double steps)
+	{
+		// Collisions are checked once per step regardless of its length
+		act();
+	}
 
 	@Override
 	public void act()
 	{
 		// Removes the dead handleds
 		removeDeadHandleds();
+		this.collidablehandler.removeDeadHandleds();
+		
+		CollisionListener[] listeners = getHandledArray();
+		Collidable[] collidables = this.collidablehandler.getHandledArray();
+		
+		ensureCapacity(listeners.length, collidables.length);
+		this.stepnumber ++;
+		this.lastcachedpairs = 0;
+		
+		// Collects the active listeners and the solid collidables along with 
+		// their bounds
+		int listenernumber = 0;
 		
-		// Checks collisions between all the listeners and collidables
-		for (int listenerind = 0; listenerind < getHandledNumber(); listenerind++)
+		for (int i = 0; i < listeners.length; i++)
 		{
-			// Remembers the important data about the listener
-			CollisionListener listener = getCollisionListener(listenerind);
-			
 			// Inactive listeners are not counted
-			if (!listener.isActive())
+			if (!listeners[i].isActive())
+				continue;
+			
+			if (!readCollisionCoordinates(listeners[i], listenernumber))
+				continue;
+			
+			this.activelisteners[listenernumber] = listeners[i];
+			setPointBounds(this.listenerbounds, listenernumber, 
+					this.listenercoordinates[listenernumber], 
+					this.listenerpointnumbers[listenernumber]);
+			listenernumber ++;
+		}
+		
+		int collidablenumber = 0;
+		
+		for (int i = 0; i < collidables.length; i++)
+		{
+			// Non-solid collidables cannot collide
+			if (!collidables[i].isSolid())
 				continue;
 			
-			DoublePoint[] colpoints = listener.getCollisionPoints();
-			HashMap<Collidable, ArrayList<DoublePoint>> collidedpoints = 
-					new HashMap<Collidable, ArrayList<DoublePoint>>();
+			this.solidcollidables[collidablenumber] = collidables[i];
+			setCollidableBounds(this.collidablebounds, collidablenumber, 
+					collidables[i]);
+			collidablenumber ++;
+		}
+		
+		// Finds the pairs that may collide
+		this.pairs.clear();
+		this.broadphase.findPairs(this.listenerbounds, listenernumber, 
+				this.collidablebounds, collidablenumber, this.pairs);
+		this.pairs.sort();
+		
+		// Updates the statistics
+		this.lastcandidatepairs = this.pairs.size();
+		this.lastbruteforcepairs = listenernumber * collidablenumber;
+		this.candidatepairs += this.lastcandidatepairs;
+		this.bruteforcepairs += this.lastbruteforcepairs;
+		
+		// The results of the pairs are only remembered if they can be reused
+		boolean caching = this.refreshinterval > 1;
+		
+		// Checks the exact collisions between the pairs. The pairs of each 
+		// listener are next to each other.
+		int pairindex = 0;
+		while (pairindex < this.pairs.size())
+		{
+			int listenerindex = this.pairs.getListenerIndex(pairindex);
+			CollisionListener listener = this.activelisteners[listenerindex];
+			double[] coordinates = this.listenercoordinates[listenerindex];
+			int pointnumber = this.listenerpointnumbers[listenerindex];
+			ContactRecord record = null;
+			if (caching || listener instanceof ContactListener)
+				record = getContactRecord(listener);
+			
+			this.collisions.clear();
 			
-			for (int colind = 0; 
-					colind < this.collidablehandler.getHandledNumber(); colind++)
+			for (; pairindex < this.pairs.size() && 
+					this.pairs.getListenerIndex(pairindex) == listenerindex;
+					pairindex++)
 			{
 				// Remembers the collidable
-				Collidable c = this.collidablehandler.getCollidable(colind);
-				
-				// Non-solid collidables cannot collide
-				if (!c.isSolid())
-					continue;
+				Collidable c = this.solidcollidables[
+						this.pairs.getCollidableIndex(pairindex)];
 				
 				// Listener cannot collide with itself
 				if (listener.equals(c))
 					continue;
 				
-				// Checks all points if they would collide
-				for (int pointi = 0; pointi < colpoints.length; pointi++)
+				// The earlier collision events may have changed the states
+				if (!listener.isActive() || !c.isSolid())
+					continue;
+				
+				// Checks the points if they would collide, unless the 
+				// previous results can be used
+				if (caching)
 				{
-					Collidable collider = c.pointCollides((int) colpoints[pointi].getX(), 
-							(int) colpoints[pointi].getY());
-					
-					if (collider == null)
-						continue;
-
-					// The arraylist may need to be initialized
-					if (!collidedpoints.containsKey(collider))
-						collidedpoints.put(collider, new ArrayList<DoublePoint>());
-					// Remembers the point and the collided object
-					collidedpoints.get(collider).add(colpoints[pointi]);
+					PairCache cache = record.getPairCache(c, this.stepnumber);
+					checkPair(c, coordinates, pointnumber, cache);
+				
+					// Remembers the points and the collided objects
+					cache.addHits(this.collisions);
 				}
+				else
+					checkPair(c, coordinates, pointnumber);
 			}
 			
+			// The pairs that weren't found anymore are forgotten
+			if (record != null)
+				record.removeOldPairs(this.stepnumber);
+			
 			// Informs the listener about each object it collided with
-			for (Collidable c: collidedpoints.keySet())
-				listener.onCollision(collidedpoints.get(c), c);
+			informCollisions(listener);
+			if (record != null)
+				informContacts(listener, record);
 		}
+		
+		// The contacts of the listeners without any pairs end as well
+		endContacts();
+		
+		// The objects aren't kept in the tables after the checks
+		Arrays.fill(this.activelisteners, 0, listenernumber, null);
+		Arrays.fill(this.solidcollidables, 0, collidablenumber, null);
+		this.collisions.clear();
 	}
 	
 	@Override
@@ -134,6 +269,82 @@ public class CollisionHandler extends LogicalHandler implements Actor
 		return this.collidablehandler;
 	}
 	
+	/**
+	 * Changes how the handler finds the listeners and collidables that may 
+	 * collide
+	 * 
+	 * @param broadphase The new broadphase used by the handler
+	 * @see SweepAndPruneBroadPhase
+	 * @see BruteForceBroadPhase
+	 */
+	public void setBroadPhase(BroadPhase broadphase)
+	{
+		if (broadphase != null)
+			this.broadphase = broadphase;
+	}
+	
+	/**
+	 * Changes how often the listener-collidable pairs are checked completely 
+	 * even when neither of the objects has moved. The changes that don't 
+	 * move the objects, like changing a tilemap's tiles, a sprite or a mask 
+	 * or making an object solid, are noticed only when the pair is checked 
+	 * again, so longer intervals should be used only when the collidables 
+	 * don't change that way.
+	 * 
+	 * @param steps How many steps the previous collision results can be used 
+	 * for before the points are checked again. 1 or less means that the 
+	 * points are checked on every step.
+	 * @see #DEFAULTREFRESHINTERVAL
+	 */
+	public void setContactRefreshInterval(int steps)
+	{
+		this.refreshinterval = steps;
+	}
+	
+	/**
+	 * @return How many listener-collidable pairs were checked during the 
+	 * last step
+	 */
+	public int getLastCandidatePairNumber()
+	{
+		return this.lastcandidatepairs;
+	}
+	
+	/**
+	 * @return How many listener-collidable pairs would have been checked 
+	 * during the last step without the broadphase
+	 */
+	public int getLastBruteForcePairNumber()
+	{
+		return this.lastbruteforcepairs;
+	}
+	
+	/**
+	 * @return How many of the listener-collidable pairs checked during the 
+	 * last step used the results from the previous steps
+	 */
+	public int getLastCachedPairNumber()
+	{
+		return this.lastcachedpairs;
+	}
+	
+	/**
+	 * @return How many listener-collidable pairs have been checked so far
+	 */
+	public long getCandidatePairNumber()
+	{
+		return this.candidatepairs;
+	}
+	
+	/**
+	 * @return How many listener-collidable pairs would have been checked so 
+	 * far without the broadphase
+	 */
+	public long getBruteForcePairNumber()
+	{
+		return this.bruteforcepairs;
+	}
+	
 	
 	// OTHER METHODS	--------------------------------------------------
 	
@@ -157,13 +368,586 @@ public class CollisionHandler extends LogicalHandler implements Actor
 		this.collidablehandler.addCollidable(c);
 	}
 	
-	private CollisionListener getCollisionListener(int index)
+	// Makes sure the tables can hold all of the listeners and collidables
+	private void ensureCapacity(int listenernumber, int collidablenumber)
+	{
+		if (this.activelisteners.length < listenernumber)
+		{
+			this.activelisteners = new CollisionListener[listenernumber];
+			this.listenercoordinates = new double[listenernumber][];
+			this.ownedcoordinates = Arrays.copyOf(this.ownedcoordinates, 
+					listenernumber);
+			this.listenerpointnumbers = new int[listenernumber];
+			this.listenerbounds = new double[listenernumber * 4];
+		}
+		if (this.solidcollidables.length < collidablenumber)
+		{
+			this.solidcollidables = new Collidable[collidablenumber];
+			this.collidablebounds = new double[collidablenumber * 4];
+		}
+	}
+	
+	private ContactRecord getContactRecord(CollisionListener listener)
+	{
+		ContactRecord record = this.contacts.get(listener);
+		
+		if (record == null)
+		{
+			record = new ContactRecord();
+			this.contacts.put(listener, record);
+		}
+		
+		record.setStepNumber(this.stepnumber);
+		return record;
+	}
+	
+	// Finds out which points collide with the collidable and adds them to 
+	// the collisions without remembering them
+	private void checkPair(Collidable c, double[] coordinates, int pointnumber)
+	{
+		for (int pointi = 0; pointi < pointnumber; pointi++)
+		{
+			double x = coordinates[pointi * 2];
+			double y = coordinates[pointi * 2 + 1];
+			Collidable collider = c.pointCollides((int) x, (int) y);
+			
+			if (collider != null)
+				this.collisions.add(collider, x, y);
+		}
+	}
+	
+	// Finds out which points collide with the collidable and stores the 
+	// results to the cache
+	private void checkPair(Collidable c, double[] coordinates, int pointnumber, 
+			PairCache cache)
+	{
+		long version = getTransformationVersion(c);
+		
+		// If nothing has moved, the previous results are still valid
+		if (cache.reuse(coordinates, pointnumber, version, 
+				this.refreshinterval))
+		{
+			this.lastcachedpairs ++;
+			return;
+		}
+		
+		if (this.pointcolliders.length < pointnumber)
+			this.pointcolliders = new Collidable[pointnumber];
+		
+		for (int pointi = 0; pointi < pointnumber; pointi++)
+		{
+			this.pointcolliders[pointi] = c.pointCollides(
+					(int) coordinates[pointi * 2],
+					(int) coordinates[pointi * 2 + 1]);
+		}
+		
+		cache.update(coordinates, pointnumber, version, this.pointcolliders);
+	}
+	
+	// Reads the listener's collision points to the given index. Returns false 
+	// if the listener doesn't have any collision points.
+	private boolean readCollisionCoordinates(CollisionListener listener, 
+			int index)
+	{
+		// Bufferedcollisionlisteners provide the coordinates themselves
+		if (listener instanceof BufferedCollisionListener)
+		{
+			double[] coordinates = ((BufferedCollisionListener) 
+					listener).getCollisionCoordinates();
+			
+			if (coordinates == null || coordinates.length < 2)
+				return false;
+			
+			this.listenercoordinates[index] = coordinates;
+			this.listenerpointnumbers[index] = coordinates.length / 2;
+			return true;
+		}
+		
+		// The other listeners' points are copied to the handler's own tables
+		DoublePoint[] points = listener.getCollisionPoints();
+		
+		if (points == null || points.length == 0)
+			return false;
+		
+		double[] coordinates = this.ownedcoordinates[index];
+		if (coordinates == null || coordinates.length < points.length * 2)
+		{
+			coordinates = new double[points.length * 2];
+			this.ownedcoordinates[index] = coordinates;
+		}
+		
+		for (int i = 0; i < points.length; i++)
+		{
+			coordinates[i * 2] = points[i].getX();
+			coordinates[i * 2 + 1] = points[i].getY();
+		}
+		
+		this.listenercoordinates[index] = coordinates;
+		this.listenerpointnumbers[index] = points.length;
+		return true;
+	}
+	
+	private void informCollisions(CollisionListener listener)
+	{
+		for (int i = 0; i < this.collisions.size(); i++)
+		{
+			Collidable collider = this.collisions.getCollider(i);
+			double[] coordinates = this.collisions.getCoordinates(i);
+			int pointnumber = this.collisions.getPointNumber(i);
+			
+			if (listener instanceof BufferedCollisionListener)
+				((BufferedCollisionListener) listener).onCollision(coordinates, 
+						pointnumber, collider);
+			else
+			{
+				ArrayList<DoublePoint> points = 
+						new ArrayList<DoublePoint>(pointnumber);
+				for (int pointi = 0; pointi < pointnumber; pointi++)
+				{
+					points.add(new DoublePoint(coordinates[pointi * 2], 
+							coordinates[pointi * 2 + 1]));
+				}
+				
+				listener.onCollision(points, collider);
+			}
+		}
+	}
+	
+	// Informs a contactlistener about the contacts that began, continued or 
+	// ended during this step
+	private void informContacts(CollisionListener listener, 
+			ContactRecord record)
+	{
+		// Only contactlisteners are interested, the inactive ones keep their 
+		// contacts until they are activated again
+		if (!(listener instanceof ContactListener) || !listener.isActive())
+			return;
+		
+		ContactListener contactlistener = (ContactListener) listener;
+		ArrayList<Collidable> previous = record.getContacts();
+		ArrayList<Collidable> current = record.startContacts();
+		
+		for (int i = 0; i < this.collisions.size(); i++)
+		{
+			Collidable collider = this.collisions.getCollider(i);
+			current.add(collider);
+			
+			if (previous.contains(collider))
+				contactlistener.onCollisionStay(collider);
+			else
+				contactlistener.onCollisionEnter(collider);
+		}
+		
+		for (int i = 0; i < previous.size(); i++)
+		{
+			if (!current.contains(previous.get(i)))
+				contactlistener.onCollisionExit(previous.get(i));
+		}
+		
+		previous.clear();
+	}
+	
+	// Ends the contacts of the listeners that weren't checked during this 
+	// step and forgets the listeners that don't have anything to remember
+	private void endContacts()
+	{
+		this.collisions.clear();
+		
+		Iterator<Map.Entry<CollisionListener, ContactRecord>> iterator = 
+				this.contacts.entrySet().iterator();
+		
+		while (iterator.hasNext())
+		{
+			Map.Entry<CollisionListener, ContactRecord> entry = iterator.next();
+			CollisionListener listener = entry.getKey();
+			ContactRecord record = entry.getValue();
+			
+			if (listener.isDead())
+			{
+				iterator.remove();
+				continue;
+			}
+			
+			if (record.getStepNumber() != this.stepnumber && 
+					listener.isActive())
+			{
+				record.removeOldPairs(this.stepnumber);
+				informContacts(listener, record);
+			}
+			
+			if (record.isEmpty())
+				iterator.remove();
+		}
+	}
+	
+	// Returns -1 if the collidable's movements can't be followed
+	private static long getTransformationVersion(Collidable c)
+	{
+		if (c instanceof DrawnObject)
+			return ((DrawnObject) c).getTransformationVersion();
+		else
+			return -1;
+	}
+	
+	// Calculates the bounds that contain all of the points
+	private static void setPointBounds(double[] bounds, int index, 
+			double[] coordinates, int pointnumber)
 	{
-		Handled maybeListener = getHandled(index);
+		double minx = coordinates[0];
+		double miny = coordinates[1];
+		double maxx = minx;
+		double maxy = miny;
+		
+		for (int i = 1; i < pointnumber; i++)
+		{
+			minx = Math.min(minx, coordinates[i * 2]);
+			miny = Math.min(miny, coordinates[i * 2 + 1]);
+			maxx = Math.max(maxx, coordinates[i * 2]);
+			maxy = Math.max(maxy, coordinates[i * 2 + 1]);
+		}
 		
-		if (maybeListener instanceof CollisionListener)
-			return (CollisionListener) maybeListener;
+		// The points are rounded down when they are checked
+		bounds[index * 4] = Math.floor(minx);
+		bounds[index * 4 + 1] = Math.floor(miny);
+		bounds[index * 4 + 2] = maxx;
+		bounds[index * 4 + 3] = maxy;
+	}
+	
+	// Calculates the bounds of a collidable. The collidables whose size isn't 
+	// known get infinite bounds.
+	private static void setCollidableBounds(double[] bounds, int index, 
+			Collidable c)
+	{
+		if (c instanceof DimensionalDrawnObject)
+		{
+			DimensionalDrawnObject d = (DimensionalDrawnObject) c;
+			double range = Math.abs(d.getMaxRangeFromOrigin()) + 1;
+			
+			bounds[index * 4] = d.getX() - range;
+			bounds[index * 4 + 1] = d.getY() - range;
+			bounds[index * 4 + 2] = d.getX() + range;
+			bounds[index * 4 + 3] = d.getY() + range;
+		}
 		else
-			return null;
+		{
+			bounds[index * 4] = Double.NEGATIVE_INFINITY;
+			bounds[index * 4 + 1] = Double.NEGATIVE_INFINITY;
+			bounds[index * 4 + 2] = Double.POSITIVE_INFINITY;
+			bounds[index * 4 + 3] = Double.POSITIVE_INFINITY;
+		}
+	}
+	
+	
+	// SUBCLASSES	------------------------------------------------------
+	
+	/**
+	 * CollisionBuffer collects the points where a listener collided, grouped 
+	 * by the collided objects. The tables are reused for each listener.
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class CollisionBuffer
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private Collidable[] colliders;
+		private double[][] coordinates;
+		private int[] pointnumbers;
+		private int size;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public CollisionBuffer()
+		{
+			// Initializes attributes
+			this.colliders = new Collidable[4];
+			this.coordinates = new double[4][];
+			this.pointnumbers = new int[4];
+			this.size = 0;
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		public int size()
+		{
+			return this.size;
+		}
+		
+		public Collidable getCollider(int index)
+		{
+			return this.colliders[index];
+		}
+		
+		public double[] getCoordinates(int index)
+		{
+			return this.coordinates[index];
+		}
+		
+		public int getPointNumber(int index)
+		{
+			return this.pointnumbers[index];
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		public void clear()
+		{
+			Arrays.fill(this.colliders, 0, this.size, null);
+			this.size = 0;
+		}
+		
+		public void add(Collidable collider, double x, double y)
+		{
+			// Finds the collider's group. There are usually only a few.
+			int index = 0;
+			while (index < this.size && !this.colliders[index].equals(collider))
+			{
+				index ++;
+			}
+			
+			// A new group may need to be created
+			if (index == this.size)
+			{
+				if (this.size == this.colliders.length)
+				{
+					this.colliders = Arrays.copyOf(this.colliders, this.size * 2);
+					this.coordinates = Arrays.copyOf(this.coordinates, 
+							this.size * 2);
+					this.pointnumbers = Arrays.copyOf(this.pointnumbers, 
+							this.size * 2);
+				}
+				
+				this.colliders[index] = collider;
+				this.pointnumbers[index] = 0;
+				this.size ++;
+			}
+			
+			// The group's table may need to grow
+			double[] groupcoordinates = this.coordinates[index];
+			int pointnumber = this.pointnumbers[index];
+			
+			if (groupcoordinates == null)
+				groupcoordinates = new double[16];
+			else if (groupcoordinates.length < pointnumber * 2 + 2)
+				groupcoordinates = Arrays.copyOf(groupcoordinates, 
+						groupcoordinates.length * 2);
+			
+			groupcoordinates[pointnumber * 2] = x;
+			groupcoordinates[pointnumber * 2 + 1] = y;
+			this.coordinates[index] = groupcoordinates;
+			this.pointnumbers[index] = pointnumber + 1;
+		}
+	}
+	
+	/**
+	 * ContactRecord remembers the results of a single listener's pairs and 
+	 * the objects the listener was in contact with
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class ContactRecord
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private IdentityHashMap<Collidable, PairCache> pairs;
+		private ArrayList<Collidable> contacts, newcontacts;
+		private long stepnumber;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public ContactRecord()
+		{
+			// Initializes attributes
+			this.pairs = new IdentityHashMap<Collidable, PairCache>();
+			this.contacts = new ArrayList<Collidable>();
+			this.newcontacts = new ArrayList<Collidable>();
+			this.stepnumber = 0;
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		public long getStepNumber()
+		{
+			return this.stepnumber;
+		}
+		
+		public void setStepNumber(long stepnumber)
+		{
+			this.stepnumber = stepnumber;
+		}
+		
+		public ArrayList<Collidable> getContacts()
+		{
+			return this.contacts;
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		// Returns the cache of the pair and marks it used during the step
+		public PairCache getPairCache(Collidable c, long stepnumber)
+		{
+			PairCache cache = this.pairs.get(c);
+			
+			if (cache == null)
+			{
+				cache = new PairCache();
+				this.pairs.put(c, cache);
+			}
+			
+			cache.setStepNumber(stepnumber);
+			return cache;
+		}
+		
+		public void removeOldPairs(long stepnumber)
+		{
+			Iterator<PairCache> iterator = this.pairs.values().iterator();
+			while (iterator.hasNext())
+			{
+				if (iterator.next().getStepNumber() != stepnumber)
+					iterator.remove();
+			}
+		}
+		
+		// Returns an empty list for the new contacts. The new contacts 
+		// replace the old ones.
+		public ArrayList<Collidable> startContacts()
+		{
+			ArrayList<Collidable> old = this.contacts;
+			this.contacts = this.newcontacts;
+			this.newcontacts = old;
+			this.contacts.clear();
+			
+			return this.contacts;
+		}
+		
+		public boolean isEmpty()
+		{
+			return this.pairs.isEmpty() && this.contacts.isEmpty();
+		}
+	}
+	
+	/**
+	 * PairCache remembers the points of a listener that collided with a 
+	 * collidable during the last check, as well as the state the check was 
+	 * made in
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class PairCache
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private double[] coordinates;
+		private int pointnumber, hitnumber, age;
+		private int[] hitindexes;
+		private Collidable[] hitcolliders;
+		private long version, stepnumber;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public PairCache()
+		{
+			// Initializes attributes
+			this.coordinates = new double[0];
+			this.pointnumber = 0;
+			this.hitnumber = 0;
+			this.age = 0;
+			this.hitindexes = new int[0];
+			this.hitcolliders = new Collidable[0];
+			this.version = -1;
+			this.stepnumber = 0;
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		public long getStepNumber()
+		{
+			return this.stepnumber;
+		}
+		
+		public void setStepNumber(long stepnumber)
+		{
+			this.stepnumber = stepnumber;
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		// Returns true if the previous results can be used again
+		public boolean reuse(double[] coordinates, int pointnumber, 
+				long version, int refreshinterval)
+		{
+			// The collidable must not have moved and the results can't be 
+			// too old
+			if (version < 0 || version != this.version || 
+					this.age + 1 >= refreshinterval || 
+					pointnumber != this.pointnumber)
+				return false;
+			
+			// The listener must not have moved either
+			for (int i = 0; i < pointnumber * 2; i++)
+			{
+				if (coordinates[i] != this.coordinates[i])
+					return false;
+			}
+			
+			this.age ++;
+			return true;
+		}
+		
+		public void update(double[] coordinates, int pointnumber, long version, 
+				Collidable[] pointcolliders)
+		{
+			if (this.coordinates.length < pointnumber * 2)
+				this.coordinates = new double[pointnumber * 2];
+			System.arraycopy(coordinates, 0, this.coordinates, 0, 
+					pointnumber * 2);
+			
+			this.hitnumber = 0;
+			for (int i = 0; i < pointnumber; i++)
+			{
+				if (pointcolliders[i] == null)
+					continue;
+				
+				if (this.hitnumber == this.hitindexes.length)
+				{
+					this.hitindexes = Arrays.copyOf(this.hitindexes, 
+							this.hitnumber * 2 + 4);
+					this.hitcolliders = Arrays.copyOf(this.hitcolliders, 
+							this.hitnumber * 2 + 4);
+				}
+				
+				this.hitindexes[this.hitnumber] = i;
+				this.hitcolliders[this.hitnumber] = pointcolliders[i];
+				this.hitnumber ++;
+			}
+			Arrays.fill(this.hitcolliders, this.hitnumber, 
+					this.hitcolliders.length, null);
+			
+			this.pointnumber = pointnumber;
+			this.version = version;
+			this.age = 0;
+		}
+		
+		public void addHits(CollisionBuffer buffer)
+		{
+			for (int i = 0; i < this.hitnumber; i++)
+			{
+				int pointi = this.hitindexes[i];
+				buffer.add(this.hitcolliders[i], this.coordinates[pointi * 2], 
+						this.coordinates[pointi * 2 + 1]);
+			}
+		}
 	}
 }
@@ -0,0 +1,183 @@
+package handlers;
+
+import handleds.Drawable;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * DepthBuckets keeps drawables sorted by their depth. The drawables with the 
+ * same depth are kept in the same bucket in the order they were added in, so 
+ * adding, removing and moving a drawable don't depend on how many drawables 
+ * there are. The drawables are returned from the deepest to the highest.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see DrawableHandler
+ * @see helpAndEnums.DepthConstants
+ */
+public class DepthBuckets
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private HashMap<Integer, LinkedHashSet<Drawable>> buckets;
+	private IdentityHashMap<Drawable, Integer> depths;
+	private int[] sorteddepths; // From the deepest to the highest
+	private Drawable[] sorteddrawables; // Null when needs to be updated
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new empty set of buckets
+	 */
+	public DepthBuckets()
+	{
+		// Initializes attributes
+		this.buckets = new HashMap<Integer, LinkedHashSet<Drawable>>();
+		this.depths = new IdentityHashMap<Drawable, Integer>();
+		this.sorteddepths = new int[0];
+		this.sorteddrawables = new Drawable[0];
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return How many drawables there are in the buckets
+	 */
+	public synchronized int size()
+	{
+		return this.depths.size();
+	}
+	
+	/**
+	 * @return The drawables from the deepest to the highest. The array is 
+	 * reused until the buckets change and must not be modified.
+	 */
+	public synchronized Drawable[] toArray()
+	{
+		if (this.sorteddrawables == null)
+		{
+			Drawable[] drawables = new Drawable[this.depths.size()];
+			int index = 0;
+			
+			for (int i = 0; i < this.sorteddepths.length; i++)
+			{
+				for (Drawable d : this.buckets.get(this.sorteddepths[i]))
+				{
+					drawables[index++] = d;
+				}
+			}
+			
+			this.sorteddrawables = drawables;
+		}
+		
+		return this.sorteddrawables;
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Adds a drawable to the bucket of its current depth
+	 * 
+	 * @param d The drawable to be added
+	 */
+	public synchronized void add(Drawable d)
+	{
+		if (d == null || this.depths.containsKey(d))
+			return;
+		
+		addToBucket(d, d.getDepth());
+	}
+	
+	/**
+	 * Removes a drawable from the buckets
+	 * 
+	 * @param d The drawable to be removed
+	 */
+	public synchronized void remove(Drawable d)
+	{
+		Integer depth = this.depths.remove(d);
+		
+		if (depth != null)
+			removeFromBucket(d, depth);
+	}
+	
+	/**
+	 * Moves a drawable to the bucket of its new depth. The drawable will 
+	 * be drawn after the other drawables at that depth.
+	 * 
+	 * @param d The drawable whose depth changed
+	 * @param depth The drawable's new depth
+	 */
+	public synchronized void move(Drawable d, int depth)
+	{
+		Integer olddepth = this.depths.get(d);
+		
+		// Only the drawables in the buckets can be moved
+		if (olddepth == null || olddepth == depth)
+			return;
+		
+		removeFromBucket(d, olddepth);
+		addToBucket(d, depth);
+	}
+	
+	private void addToBucket(Drawable d, int depth)
+	{
+		LinkedHashSet<Drawable> bucket = this.buckets.get(depth);
+		
+		// Creates a new bucket if necessary
+		if (bucket == null)
+		{
+			bucket = new LinkedHashSet<Drawable>();
+			this.buckets.put(depth, bucket);
+			
+			// The new depth is placed among the others, the deepest first
+			int[] newdepths = new int[this.sorteddepths.length + 1];
+			int index = 0;
+			while (index < this.sorteddepths.length && 
+					this.sorteddepths[index] > depth)
+			{
+				index ++;
+			}
+			System.arraycopy(this.sorteddepths, 0, newdepths, 0, index);
+			newdepths[index] = depth;
+			System.arraycopy(this.sorteddepths, index, newdepths, index + 1, 
+					this.sorteddepths.length - index);
+			this.sorteddepths = newdepths;
+		}
+		
+		bucket.add(d);
+		this.depths.put(d, depth);
+		this.sorteddrawables = null;
+	}
+	
+	private void removeFromBucket(Drawable d, int depth)
+	{
+		LinkedHashSet<Drawable> bucket = this.buckets.get(depth);
+		
+		if (bucket == null)
+			return;
+		
+		bucket.remove(d);
+		this.sorteddrawables = null;
+		
+		// Empty buckets are removed
+		if (bucket.isEmpty())
+		{
+			this.buckets.remove(depth);
+			
+			int[] newdepths = new int[this.sorteddepths.length - 1];
+			int index = 0;
+			for (int i = 0; i < this.sorteddepths.length; i++)
+			{
+				if (this.sorteddepths[i] != depth)
+					newdepths[index++] = this.sorteddepths[i];
+			}
+			this.sorteddepths = newdepths;
+		}
+	}
+}
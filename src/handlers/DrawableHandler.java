@@ -1,23 +1,51 @@
 package handlers;
 
 import java.awt.Graphics2D;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import listeners.DrawableStateListener;
+
+import drawnobjects.DrawnObject;
 import handleds.Drawable;
-import handleds.Handled;
+import handleds.ObservableDrawable;
 
 /**
  * The object from this class will draw multiple drawables, calling their 
- * drawSelf-methods and removing them when necessary
+ * drawSelf-methods and removing them when necessary.<p>
+ *
+ * The handler can publish its content so that it can be drawn in another 
+ * thread while the logic thread changes the handled objects. After the first 
+ * publish, only the published drawables are drawn.<p>
+ *
+ * The handler keeps count of its visible handleds so that it knows whether 
+ * it is visible without checking all of its handleds. Only the handleds that 
+ * don't inform about their visibility are checked each time. The handler 
+ * counts as visible while it has queued handleds that haven't been added 
+ * yet, since they may be visible.
  *
  * @author Mikko Hilpinen.
  *         Created 27.11.2012.
  */
-public class DrawableHandler extends Handler implements Drawable
+public class DrawableHandler extends Handler<Drawable> implements
+		ObservableDrawable, DrawableStateListener
 {	
 	// ATTRIBUTES	------------------------------------------------------
 	
 	private int depth;
 	private boolean usesDepth;
+	private volatile Drawable[] publisheddrawables;
+	// The visibilities of the observed handleds (null until it is known)
+	private IdentityHashMap<Drawable, Boolean> handledstates;
+	private int visiblenumber;
+	private Set<Drawable> unobservedhandleds;
+	// A snapshot of the unobserved handleds (null after a change)
+	private Drawable[] unobservedarray;
+	private CopyOnWriteArrayList<DrawableStateListener> statelisteners;
+	private boolean lastvisible; // The state the listeners were informed of
+	private DepthBuckets depthbuckets;
 	
 	
 	// CONSTRUCTOR	------------------------------------------------------
@@ -39,6 +67,21 @@ public class DrawableHandler extends Handler implements Drawable
 		// Initializes attributes
 		this.depth = depth;
 		this.usesDepth = usesDepth;
+		this.publisheddrawables = null;
+		this.handledstates = new IdentityHashMap<Drawable, Boolean>();
+		this.visiblenumber = 0;
+		this.unobservedhandleds = Collections.newSetFromMap(
+				new IdentityHashMap<Drawable, Boolean>());
+		this.unobservedarray = null;
+		this.statelisteners = new CopyOnWriteArrayList<DrawableStateListener>();
+		this.lastvisible = false;
+		
+		// If the depth sorting is on, the objects are also kept in depth 
+		// buckets
+		if (this.usesDepth)
+			this.depthbuckets = new DepthBuckets();
+		else
+			this.depthbuckets = null;
 	}
 	
 	
@@ -47,24 +90,36 @@ public class DrawableHandler extends Handler implements Drawable
 	@Override
 	public void drawSelf(Graphics2D g2d)
 	{
-		// Removes any dead handleds
-		removeDeadHandleds();
+		Drawable[] drawables = getDrawnDrawables();
 		
-		// This calls for all active actor's act method
-		for (int i = 0; i < getHandledNumber(); i++)
+		// This calls for all visible drawable's drawSelf method
+		for (int i = 0; i < drawables.length; i++)
 		{
-			if (getDrawable(i).isVisible())
-				getDrawable(i).drawSelf(g2d);
+			callDraw(drawables[i], g2d);
 		}
 	}
 
 	@Override
 	public boolean isVisible()
 	{
+		// The handleds added during this step are counted as well
+		applyQueuedHandleds();
+		
 		// Returns false only if all the handleds are invisible
-		for (int i = 0; i < getHandledNumber(); i++)
+		synchronized (this)
 		{
-			if (getDrawable(i).isVisible())
+			if (this.visiblenumber > 0)
+				return true;
+		}
+		
+		// The handleds that couldn't be added yet may be visible
+		if (hasQueuedHandleds())
+			return true;
+		
+		// Only the handleds that don't inform their state need to be checked
+		for (Drawable d : getUnobservedHandleds())
+		{
+			if (d.isVisible())
 				return true;
 		}
 		
@@ -78,6 +133,9 @@ public class DrawableHandler extends Handler implements Drawable
 		// couldn't be made visible
 		boolean returnValue = true;
 		
+		// The handleds added during this step are affected as well
+		removeDeadHandleds();
+		
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
 			if (!getDrawable(i).setVisible())
@@ -94,6 +152,9 @@ public class DrawableHandler extends Handler implements Drawable
 		// couldn't be made invisible
 		boolean returnValue = true;
 		
+		// The handleds added during this step are affected as well
+		removeDeadHandleds();
+		
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
 			if (!getDrawable(i).setInvisible())
@@ -112,46 +173,145 @@ public class DrawableHandler extends Handler implements Drawable
 	@Override
 	public boolean setDepth(int depth)
 	{
-		this.depth = depth;
+		if (this.depth != depth)
+		{
+			this.depth = depth;
+			
+			// Informs the listeners so that the handler is drawn in order
+			for (DrawableStateListener listener : this.statelisteners)
+			{
+				listener.onDepthChange(this, depth);
+			}
+		}
 		return true;
 	}
 	
 	@Override
-	protected void addHandled(Handled h)
+	protected Class<?> getSupportedClass()
 	{
-		// Can only add drawables
-		if (!(h instanceof Drawable))
-			return;
+		return Drawable.class;
+	}
+	
+	@Override
+	public void addDrawableStateListener(DrawableStateListener listener)
+	{
+		if (listener != null)
+			this.statelisteners.addIfAbsent(listener);
+	}
+	
+	@Override
+	public void removeDrawableStateListener(DrawableStateListener listener)
+	{
+		this.statelisteners.remove(listener);
+	}
+	
+	@Override
+	public void onVisibilityChange(Drawable source, boolean visible)
+	{
+		synchronized (this)
+		{
+			// Only the states of the handled objects are counted
+			if (!this.handledstates.containsKey(source))
+				return;
+			
+			Boolean wasvisible = this.handledstates.get(source);
+			if (wasvisible != null && wasvisible == visible)
+				return;
+			
+			this.handledstates.put(source, visible);
+			if (visible)
+				this.visiblenumber ++;
+			else if (wasvisible != null)
+				this.visiblenumber --;
+		}
 		
-		Drawable d = (Drawable) h;
+		informVisibilityChange();
+	}
+	
+	@Override
+	public void onDepthChange(Drawable source, int depth)
+	{
+		// Moves the drawable so that it is drawn in order
+		if (this.depthbuckets != null)
+			this.depthbuckets.move(source, depth);
+	}
+	
+	@Override
+	protected void onHandledQueued(Drawable d)
+	{
+		// The handler may become visible once the handled is added
+		informVisibilityChange();
+	}
+	
+	@Override
+	protected void onHandledAdded(Drawable d)
+	{
+		if (this.depthbuckets != null)
+			this.depthbuckets.add(d);
 		
-		// If the depth sorting is on, finds the spot for the object
-		if (this.usesDepth)
+		if (d instanceof ObservableDrawable)
 		{
-			int index = 0;
+			// The handled is marked before its state is checked so that the 
+			// changes made in the meanwhile aren't missed
+			synchronized (this)
+			{
+				this.handledstates.put(d, null);
+			}
+			
+			((ObservableDrawable) d).addDrawableStateListener(this);
+			boolean visible = d.isVisible();
 			
-			while (index < getHandledNumber() - 1)
+			synchronized (this)
 			{
-				// Checks if there's an object with a higher depth
-				if (((Drawable) getHandled(index)).getDepth() < d.getDepth())
+				// If the state already changed, the new state is used
+				if (this.handledstates.containsKey(d) && 
+						this.handledstates.get(d) == null)
 				{
-					super.insertHandled(d, index);
-					return;
+					this.handledstates.put(d, visible);
+					if (visible)
+						this.visiblenumber ++;
 				}
-				else
-					index ++;
 			}
-			// If no object with a higher depth was found, simply adds the 
-			// drawable to the end of the list as usual
+		}
+		else
+		{
+			synchronized (this)
+			{
+				this.unobservedhandleds.add(d);
+				this.unobservedarray = null;
+			}
 		}
 		
-		super.addHandled(d);
+		informVisibilityChange();
 	}
 	
 	@Override
-	protected Class<?> getSupportedClass()
+	protected void onHandledRemoved(Drawable d)
 	{
-		return Drawable.class;
+		if (this.depthbuckets != null)
+			this.depthbuckets.remove(d);
+		
+		if (d instanceof ObservableDrawable)
+		{
+			((ObservableDrawable) d).removeDrawableStateListener(this);
+			
+			synchronized (this)
+			{
+				Boolean wasvisible = this.handledstates.remove(d);
+				if (wasvisible != null && wasvisible)
+					this.visiblenumber --;
+			}
+		}
+		else
+		{
+			synchronized (this)
+			{
+				this.unobservedhandleds.remove(d);
+				this.unobservedarray = null;
+			}
+		}
+		
+		informVisibilityChange();
 	}
 	
 	
@@ -167,6 +327,149 @@ public class DrawableHandler extends Handler implements Drawable
 		addHandled(d);
 	}
 	
+	/**
+	 * Publishes the current content of the handler and the states of the 
+	 * handled objects so that they can be drawn in another thread. This 
+	 * should be called by the logic thread after each step.
+	 * 
+	 * @see drawnobjects.DrawnObject#publishState()
+	 */
+	public void publishStates()
+	{
+		// Removes any dead handleds
+		removeDeadHandleds();
+		
+		// The drawn array doesn't change so it can be published as it is
+		Drawable[] drawables = getSortedDrawables();
+		
+		for (int i = 0; i < drawables.length; i++)
+		{
+			Drawable d = drawables[i];
+			
+			// Publishes the states of the handled objects as well
+			if (d instanceof DrawnObject)
+				((DrawnObject) d).publishState();
+			else if (d instanceof DrawableHandler)
+				((DrawableHandler) d).publishStates();
+		}
+		
+		this.publisheddrawables = drawables;
+	}
+	
+	/**
+	 * @return The drawables that should be drawn at this time. If the 
+	 * handler has been published, the published drawables are returned. 
+	 * Otherwise the currently handled drawables are returned.
+	 */
+	protected Drawable[] getDrawnDrawables()
+	{
+		Drawable[] drawables = this.publisheddrawables;
+		
+		if (drawables != null)
+			return drawables;
+		
+		// Removes any dead handleds
+		removeDeadHandleds();
+		
+		return getSortedDrawables();
+	}
+	
+	/**
+	 * @return Has the content of the handler been published
+	 * @see #publishStates()
+	 */
+	protected boolean isPublished()
+	{
+		return this.publisheddrawables != null;
+	}
+	
+	/**
+	 * Draws a single drawable, if it is visible
+	 * 
+	 * @param d The drawable that should be drawn
+	 * @param g2d The graphics object that will draw the drawable
+	 */
+	protected void callDraw(Drawable d, Graphics2D g2d)
+	{
+		if (d == null || !d.isVisible())
+			return;
+		
+		// Measures the time used if profiling is on
+		HandlerProfiler profiler = HandlerProfiler.getActiveProfiler();
+		long start = 0;
+		if (profiler != null)
+		{
+			profiler.enter(this, d, true);
+			start = System.nanoTime();
+		}
+		
+		d.drawSelf(g2d);
+		
+		if (profiler != null)
+			profiler.record(this, d, System.nanoTime() - start, true);
+	}
+	
+	// Returns the handleds in the order they should be drawn in
+	private Drawable[] getSortedDrawables()
+	{
+		if (this.depthbuckets != null)
+			return this.depthbuckets.toArray();
+		else
+			return getHandledArray();
+	}
+	
+	// Returns the handleds that don't inform their visibility. The array is 
+	// only rebuilt after the handleds have changed.
+	private synchronized Drawable[] getUnobservedHandleds()
+	{
+		if (this.unobservedarray == null)
+			this.unobservedarray = this.unobservedhandleds.toArray(
+					new Drawable[this.unobservedhandleds.size()]);
+		
+		return this.unobservedarray;
+	}
+	
+	// Informs the listeners if the handler has become visible or invisible. 
+	// The changes in the handleds that don't inform their state are noticed 
+	// only when something else changes.
+	private void informVisibilityChange()
+	{
+		boolean visible = false;
+		
+		synchronized (this)
+		{
+			if (this.visiblenumber > 0)
+				visible = true;
+		}
+		
+		if (!visible && hasQueuedHandleds())
+			visible = true;
+		
+		if (!visible)
+		{
+			for (Drawable d : getUnobservedHandleds())
+			{
+				if (d.isVisible())
+				{
+					visible = true;
+					break;
+				}
+			}
+		}
+		
+		synchronized (this)
+		{
+			if (visible == this.lastvisible)
+				return;
+			this.lastvisible = visible;
+		}
+		
+		for (DrawableStateListener listener : this.statelisteners)
+		{
+			listener.onVisibilityChange(this, visible);
+		}
+	}
+	
 	/**
 	 * Gets a handled from the list of handleds casted as a drawable
 	 *
@@ -176,10 +479,6 @@ public class DrawableHandler extends Handler implements Drawable
 	 */
 	private Drawable getDrawable(int index)
 	{
-		Handled maybeDrawable = getHandled(index);
-		if (maybeDrawable instanceof Drawable)
-			return (Drawable) maybeDrawable;
-		else
-			return null;
+		return getHandled(index);
 	}
 }
@@ -1,7 +1,7 @@
 package handlers;
 
 import drawnobjects.DrawnObject;
-import handleds.Handled;
+import handleds.Drawable;
 
 /**
  * Drawnobjecthandler is a special drawablehandler that handles only drawn 
@@ -37,6 +37,14 @@ public class DrawnObjectHandler extends DrawableHandler
 		return DrawnObject.class;
 	}
 	
+	@Override
+	protected void addHandled(Drawable d)
+	{
+		// Can only add drawnobjects
+		if (d instanceof DrawnObject)
+			super.addHandled(d);
+	}
+	
 	
 	// OTHER METHODS	-------------------------------------------------
 	
@@ -59,10 +67,7 @@ public class DrawnObjectHandler extends DrawableHandler
 	 */
 	protected DrawnObject getDrawnObject(int index)
 	{
-		Handled maybeDrawnObject = getHandled(index);
-		if (maybeDrawnObject instanceof DrawnObject)
-			return (DrawnObject) maybeDrawnObject;
-		else
-			return null;
+		// Only drawnobjects are added to the handler
+		return (DrawnObject) getHandled(index);
 	}
 }
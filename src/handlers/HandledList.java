@@ -0,0 +1,354 @@
+package handlers;
+
+import handleds.Handled;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * HandledList is the storage used by the handlers. The handleds are kept in 
+ * an array of the handler's supported class so they don't need to be cast 
+ * when they are read.<p>
+ *
+ * Handleds aren't added or removed immediately. Instead the changes are 
+ * queued and applied all at once when the list is updated. Each update 
+ * replaces the array with a new one, so the array returned by getArray 
+ * never changes and can be iterated while other threads add or remove 
+ * handleds. Any thread may update the list, but only one at a time.
+ *
+ * @param <T> The type of object stored in the list
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see Handler
+ * @see #update()
+ */
+public class HandledList<T extends Handled>
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private volatile T[] handleds;
+	private Class<?> type;
+	private Set<Handled> members;
+	private ConcurrentLinkedQueue<Change<T>> changes;
+	private Handler<T> owner;
+	// These are only used during the updates and are reused between them
+	private boolean[] deadflags;
+	private Set<Handled> removed;
+	private ArrayList<T> added;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new empty list
+	 * 
+	 * @param type The class of the objects stored in the list. The class must 
+	 * be T or one of its subclasses.
+	 * @param owner The handler that is informed when handleds are queued, 
+	 * added to or removed from the list (optional)
+	 */
+	public HandledList(Class<?> type, Handler<T> owner)
+	{
+		// Initializes attributes
+		this.type = type;
+		this.owner = owner;
+		this.handleds = createArray(0);
+		this.members = Collections.newSetFromMap(
+				new IdentityHashMap<Handled, Boolean>());
+		this.changes = new ConcurrentLinkedQueue<Change<T>>();
+		this.deadflags = new boolean[0];
+		this.removed = Collections.newSetFromMap(
+				new IdentityHashMap<Handled, Boolean>());
+		this.added = new ArrayList<T>();
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return How many handleds there are in the list
+	 */
+	public int size()
+	{
+		return this.handleds.length;
+	}
+	
+	/**
+	 * @return Is the list empty
+	 */
+	public boolean isEmpty()
+	{
+		return this.handleds.length == 0;
+	}
+	
+	/**
+	 * Returns a single handled from the list
+	 * 
+	 * @param index The index of the handled
+	 * @return The handled from the index or null if no such index exists
+	 */
+	public T get(int index)
+	{
+		T[] handleds = this.handleds;
+		
+		if (index >= 0 && index < handleds.length)
+			return handleds[index];
+		else
+			return null;
+	}
+	
+	/**
+	 * @return The handleds in the list as they were after the last update. 
+	 * The array is never modified by the list and must not be modified by 
+	 * anyone else either.
+	 */
+	public T[] getArray()
+	{
+		return this.handleds;
+	}
+	
+	/**
+	 * @return Are there any queued changes that haven't been applied yet
+	 */
+	public boolean hasChanges()
+	{
+		return !this.changes.isEmpty();
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Checks whether the given handled is in the list. The queued changes 
+	 * are not counted.
+	 * 
+	 * @param h The handled that may be in the list
+	 * @return Is the handled in the list
+	 */
+	public synchronized boolean contains(Handled h)
+	{
+		return this.members.contains(h);
+	}
+	
+	/**
+	 * Adds a new handled to the list on the next update, unless it is already 
+	 * in it at that point
+	 * 
+	 * @param h The handled to be added
+	 */
+	public void add(T h)
+	{
+		if (h != null)
+		{
+			this.changes.add(new Change<T>(h, true));
+			informQueued(h);
+		}
+	}
+	
+	/**
+	 * Removes a handled from the list on the next update
+	 * 
+	 * @param h The handled to be removed
+	 */
+	public void remove(Handled h)
+	{
+		if (h != null)
+			this.changes.add(new Change<T>(h, false));
+	}
+	
+	/**
+	 * Applies the queued changes and removes the dead handleds from the list. 
+	 * The order of the handleds is kept.
+	 * 
+	 * @return How many dead handleds were removed
+	 */
+	public synchronized int update()
+	{
+		T[] old = this.handleds;
+		int dead = 0;
+		
+		// Each handled is only checked once, so that the handleds dying 
+		// during the update are removed on the next update
+		if (this.deadflags.length < old.length)
+			this.deadflags = new boolean[old.length * 2];
+		for (int i = 0; i < old.length; i++)
+		{
+			boolean isdead = old[i].isDead();
+			this.deadflags[i] = isdead;
+			if (isdead)
+				dead ++;
+		}
+		
+		// Nothing is done if nothing has changed
+		if (dead == 0 && this.changes.isEmpty())
+			return 0;
+		
+		for (int i = 0; i < old.length; i++)
+		{
+			if (this.deadflags[i])
+			{
+				this.members.remove(old[i]);
+				informRemoval(old[i]);
+			}
+		}
+		
+		// The removed handleds are only marked at first so that a handled 
+		// that is removed and added again keeps its place
+		Change<T> change = null;
+		while ((change = this.changes.poll()) != null)
+		{
+			if (change.adds())
+			{
+				T h = change.getTypedHandled();
+				
+				if (!this.members.add(h))
+					continue;
+				
+				// A handled that is still in the array isn't added twice
+				if (!this.removed.remove(h))
+					this.added.add(h);
+				
+				informAddition(h);
+			}
+			else if (this.members.remove(change.getHandled()))
+			{
+				// A handled that was added during this update simply isn't 
+				// added
+				if (!removeAdded(change.getHandled()))
+					this.removed.add(change.getHandled());
+				informRemoval(change.getTypedHandled());
+			}
+		}
+		
+		// Collects the remaining handleds to a new array
+		T[] result = createArray(old.length - dead - this.removed.size() + 
+				this.added.size());
+		int size = 0;
+		boolean checkremoved = !this.removed.isEmpty();
+		
+		for (int i = 0; i < old.length; i++)
+		{
+			if (!this.deadflags[i] && 
+					!(checkremoved && this.removed.contains(old[i])))
+				result[size++] = old[i];
+		}
+		for (int i = 0; i < this.added.size(); i++)
+		{
+			result[size++] = this.added.get(i);
+		}
+		
+		this.removed.clear();
+		this.added.clear();
+		this.handleds = result;
+		
+		return dead;
+	}
+	
+	/**
+	 * Removes all of the handleds from the list, including the queued ones
+	 */
+	public synchronized void clear()
+	{
+		T[] old = this.handleds;
+		
+		this.changes.clear();
+		this.members.clear();
+		this.handleds = createArray(0);
+		
+		for (int i = 0; i < old.length; i++)
+		{
+			informRemoval(old[i]);
+		}
+	}
+	
+	// Returns true if the handled was found from the added handleds
+	private boolean removeAdded(Handled h)
+	{
+		for (int i = 0; i < this.added.size(); i++)
+		{
+			if (this.added.get(i) == h)
+			{
+				this.added.remove(i);
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	private void informQueued(T h)
+	{
+		if (this.owner != null)
+			this.owner.onHandledQueued(h);
+	}
+	
+	private void informAddition(T h)
+	{
+		if (this.owner != null)
+			this.owner.onHandledAdded(h);
+	}
+	
+	private void informRemoval(T h)
+	{
+		if (this.owner != null)
+			this.owner.onHandledRemoved(h);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private T[] createArray(int length)
+	{
+		return (T[]) Array.newInstance(this.type, length);
+	}
+	
+	
+	// SUBCLASSES	------------------------------------------------------
+	
+	/**
+	 * Change is a single queued addition or removal
+	 * 
+	 * @param <T> The type of object stored in the list
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private static class Change<T extends Handled>
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private Handled handled;
+		private boolean add;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public Change(Handled handled, boolean add)
+		{
+			// Initializes attributes
+			this.handled = handled;
+			this.add = add;
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		public Handled getHandled()
+		{
+			return this.handled;
+		}
+		
+		public boolean adds()
+		{
+			return this.add;
+		}
+		
+		// Only the handleds in the list are known to be of the type T
+		@SuppressWarnings("unchecked")
+		public T getTypedHandled()
+		{
+			return (T) this.handled;
+		}
+	}
+}
@@ -2,21 +2,19 @@ package handlers;
 
 import handleds.Handled;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Handlers specialize in handling certain types of objects. Each handler can 
  * inform its subobjects and can be handled itself.
  *
+ * @param <T> The type of object handled by the handler
  * @author Mikko Hilpinen.
  *         Created 8.12.2012.
  */
-public abstract class Handler implements Handled
+public abstract class Handler<T extends Handled> implements Handled
 {
 	// ATTRIBUTES	-----------------------------------------------------
 	
-	private ArrayList<Handled> handleds;
+	private HandledList<T> handleds;
 	private boolean autodeath;
 	private boolean killed;
 	private boolean started; // Have any objects been added to the handler yet
@@ -32,24 +30,25 @@ public abstract class Handler implements Handled
 	 * @param autodeath Will the handler die automatically when it becomes empty
 	 * @param superhandler The handler that will handle the object (optional)
 	 */
-	public Handler(boolean autodeath, Handler superhandler)
+	public Handler(boolean autodeath, Handler<?> superhandler)
 	{
 		// Initializes attributes
 		this.autodeath = autodeath;
 		this.killed = false;
-		this.handleds = new ArrayList<Handled>();
+		this.handleds = new HandledList<T>(getSupportedClass(), this);
 		this.started = false;
 		
 		// Tries to add itself to the superhandler
 		if (superhandler != null)
-			superhandler.addHandled(this);
+			superhandler.addUncheckedHandled(this);
 	}
 	
 	
 	// ABSTRACT METHODS	---------------------------------------------------
 	
 	/**
-	 * @return The class supported by the handler
+	 * @return The class supported by the handler. The class must be T or 
+	 * one of its subclasses.
 	 */
 	protected abstract Class<?> getSupportedClass();
 	
@@ -83,9 +82,13 @@ public abstract class Handler implements Handled
 		// killed, this handldler is also killed in the process
 		boolean returnValue = true;
 		
-		for (int i = 0; i < this.handleds.size(); i++)
+		// The queued handleds are killed as well
+		removeDeadHandleds();
+		T[] handleds = this.handleds.getArray();
+		
+		for (int i = 0; i < handleds.length; i++)
 		{
-			if (!this.handleds.get(i).kill())
+			if (!handleds[i].kill())
 				returnValue = false;
 		}
 		
@@ -114,79 +117,100 @@ public abstract class Handler implements Handled
 	// OTHER METHODS	---------------------------------------------------
 	
 	/**
-	 * Adds a new object to the handled objects
+	 * Adds a new object to the handled objects. The object is added when the 
+	 * handler next updates its handleds, which makes it safe to add objects 
+	 * from any thread, even while the handler is going through its handleds.
 	 *
 	 * @param h The object to be handled
+	 * @see #removeDeadHandleds()
 	 */
-	protected void addHandled(Handled h)
+	protected void addHandled(T h)
 	{
-		// Handled must be of the supported class
-		if (!getSupportedClass().isInstance(h))
-			return;
+		this.handleds.add(h);
 		
-		if (h != null && !this.handleds.contains(h))
-		{
-			this.handleds.add(h);
-			
-			// Also starts the handler if it wasn't already
-			if (!this.started)
-				this.started = true;
-		}
+		// Also starts the handler if it wasn't already
+		if (!this.started)
+			this.started = true;
 	}
 	
 	/**
-	 * Adds a new object to the handled objects
+	 * Removes a handled from the group of handled objects. The object is 
+	 * removed when the handler next updates its handleds.
 	 *
-	 * @param h The object to be handled
-	 * @param index The index to which the handled is inserted to
+	 * @param h The handled object to be removed
+	 * @see #removeDeadHandleds()
 	 */
-	protected void insertHandled(Handled h, int index)
+	public void removeHandled(Handled h)
 	{
-		// Handled must be of the supported class
-		if (!getSupportedClass().isInstance(h))
-			return;
-		
-		if (h != null && !this.handleds.contains(h))
-		{
-			// Removes all of the handleds after the index to another list
-			List<Handled> sublist = this.handleds.subList(index, 
-					this.handleds.size() - 1);
-			List<Handled> holding = new ArrayList<Handled>();
-			holding.addAll(sublist);
-			sublist.clear();
-			// Adds the current handled
-			this.handleds.add(h);
-			// Adds the moved handleds back to the list
-			this.handleds.addAll(holding);
-			
-			// Also starts the handler if it wasn't already
-			if (!this.started)
-				this.started = true;
-		}
+		this.handleds.remove(h);
 	}
 	
 	/**
-	 * Removes a handled from the group of handled objects
-	 *
-	 * @param h The handled object to be removed
+	 * Updates the handled objects by adding and removing the objects that 
+	 * were added or removed since the last update and by removing the dead 
+	 * handleds. This should be called before going through the handleds.
 	 */
-	public void removeHandled(Handled h)
+	protected void removeDeadHandleds()
 	{
-		if (h != null && this.handleds.contains(h))
-			this.handleds.remove(h);
+		// Removes all the dead handleds from the list to save processing time
+		this.handleds.update();
 	}
 	
 	/**
-	 * Removes possible dead handleds from the handled objects
+	 * Applies the queued additions and removals, if there are any. Unlike 
+	 * removeDeadHandleds, this doesn't go through the handleds when nothing 
+	 * has been queued.
+	 * 
+	 * @see #removeDeadHandleds()
 	 */
-	protected void removeDeadHandleds()
+	protected void applyQueuedHandleds()
 	{
-		// Removes all the dead handleds from the list to save processing time
-		for (int i = 0; i < this.handleds.size(); i++)
-		{	
-			if (this.handleds.get(i).isDead())
-				this.handleds.remove(i);
-		}
+		if (this.handleds.hasChanges())
+			removeDeadHandleds();
+	}
+	
+	/**
+	 * @return Are there any queued additions or removals that haven't been 
+	 * applied yet
+	 */
+	protected boolean hasQueuedHandleds()
+	{
+		return this.handleds.hasChanges();
+	}
+	
+	/**
+	 * This method is called each time an object is queued to be added to the 
+	 * handled objects. The object isn't added until the handler next 
+	 * updates its handleds.
+	 * 
+	 * @param h The object that was queued
+	 */
+	protected void onHandledQueued(T h)
+	{
+		// Does nothing by default
+	}
+	
+	/**
+	 * This method is called each time an object is added to the handled 
+	 * objects. The subclasses may override it to keep track of their 
+	 * handleds.
+	 * 
+	 * @param h The object that was added
+	 */
+	protected void onHandledAdded(T h)
+	{
+		// Does nothing by default
+	}
+	
+	/**
+	 * This method is called each time an object is removed from the handled 
+	 * objects, whether it was removed, it died or the handler was cleared.
+	 * 
+	 * @param h The object that was removed
+	 */
+	protected void onHandledRemoved(T h)
+	{
+		// Does nothing by default
 	}
 	
 	/**
@@ -203,11 +227,28 @@ public abstract class Handler implements Handled
 	 * @param index The index of the handled object
 	 * @return The object or null if no such index exists
 	 */
-	protected Handled getHandled(int index)
+	protected T getHandled(int index)
 	{
-		if (index >= 0 && index < getHandledNumber())
-			return this.handleds.get(index);
-		else
-			return null;
+		return this.handleds.get(index);
+	}
+	
+	/**
+	 * @return The handled objects as they were after the last update. The 
+	 * array won't change even if handleds are added or removed later and 
+	 * must not be modified.
+	 */
+	protected T[] getHandledArray()
+	{
+		return this.handleds.getArray();
+	}
+	
+	// Adds a handled whose type is only known at runtime, like a subhandler 
+	// adding itself to its superhandler
+	@SuppressWarnings("unchecked")
+	private void addUncheckedHandled(Handled h)
+	{
+		// Handled must be of the supported class
+		if (getSupportedClass().isInstance(h))
+			addHandled((T) h);
 	}
 }
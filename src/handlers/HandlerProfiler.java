@@ -0,0 +1,393 @@
+package handlers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HandlerProfiler measures how much time the handlers and their handleds 
+ * spend in their act and draw events. The measurements form a tree that 
+ * follows the handler hierarchy. Each handler has its own node while the 
+ * other handled objects are combined by their class. The time spent during 
+ * each step is recorded so that the percentiles over the latest steps can be 
+ * calculated.<p>
+ *
+ * Profiling is turned off by default and can be turned on with the 
+ * start method.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see #start(int)
+ */
+public class HandlerProfiler
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private static volatile HandlerProfiler activeprofiler = null;
+	
+	private ProfileNode actroot, drawroot;
+	private ConcurrentHashMap<Handler<?>, ProfileNode> handlernodes;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	private HandlerProfiler(int samplecapacity)
+	{
+		// Initializes attributes
+		this.actroot = new ProfileNode("act", samplecapacity);
+		this.drawroot = new ProfileNode("draw", samplecapacity);
+		this.handlernodes = new ConcurrentHashMap<Handler<?>, ProfileNode>();
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return The profiler that is currently used (null if profiling is 
+	 * turned off)
+	 */
+	public static HandlerProfiler getActiveProfiler()
+	{
+		return activeprofiler;
+	}
+	
+	/**
+	 * @return The node that holds the act event measurements
+	 */
+	public ProfileNode getActRoot()
+	{
+		return this.actroot;
+	}
+	
+	/**
+	 * @return The node that holds the draw event measurements
+	 */
+	public ProfileNode getDrawRoot()
+	{
+		return this.drawroot;
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Turns profiling on. If the profiling was already on, the old 
+	 * measurements are discarded.
+	 * 
+	 * @param samplecapacity How many of the latest steps are remembered
+	 * @return The profiler that will be used
+	 */
+	public static HandlerProfiler start(int samplecapacity)
+	{
+		HandlerProfiler profiler = new HandlerProfiler(Math.max(1, 
+				samplecapacity));
+		activeprofiler = profiler;
+		return profiler;
+	}
+	
+	/**
+	 * Turns profiling off
+	 */
+	public static void stop()
+	{
+		activeprofiler = null;
+	}
+	
+	/**
+	 * Prepares the measurement of a handled before it is called. Handlers 
+	 * get their nodes under the node of the handler that calls them, so this 
+	 * must be called before the handled acts or draws itself, since nested 
+	 * handlers record their own handleds before their own time is recorded.
+	 * 
+	 * @param caller The handler that is going to call the handled
+	 * @param handled The handled that is going to be called
+	 * @param drawing Is the handled drawn (true) or does it act (false)
+	 */
+	public void enter(Handler<?> caller, Object handled, boolean drawing)
+	{
+		if (!(handled instanceof Handler) || 
+				this.handlernodes.containsKey(handled))
+			return;
+		
+		Handler<?> h = (Handler<?>) handled;
+		ProfileNode node = getHandlerNode(caller, drawing).getChild(h, 
+				getNodeName(h));
+		this.handlernodes.putIfAbsent(h, node);
+	}
+	
+	/**
+	 * Records how long a handled took to act or to draw itself
+	 * 
+	 * @param caller The handler that called the handled
+	 * @param handled The handled that was called
+	 * @param nanos How long the call took (nanoseconds)
+	 * @param drawing Was the handled drawn (true) or did it act (false)
+	 */
+	public void record(Handler<?> caller, Object handled, long nanos, 
+			boolean drawing)
+	{
+		ProfileNode parent = getHandlerNode(caller, drawing);
+		
+		// Handlers get their own nodes, other objects are combined by class
+		if (handled instanceof Handler)
+		{
+			enter(caller, handled, drawing);
+			this.handlernodes.get(handled).add(nanos);
+		}
+		else
+			parent.getChild(handled.getClass(), 
+					getNodeName(handled)).add(nanos);
+	}
+	
+	/**
+	 * Ends the current step, storing the time measured during it. This 
+	 * should be called once at the end of each step.
+	 */
+	public void endStep()
+	{
+		this.actroot.endStep();
+		this.drawroot.endStep();
+	}
+	
+	/**
+	 * Writes the measurements to the given file
+	 * 
+	 * @param file The file the measurements are written to
+	 * @return Was the file successfully written
+	 */
+	public boolean dump(File file)
+	{
+		PrintWriter writer = null;
+		
+		try
+		{
+			writer = new PrintWriter(file);
+			writer.println("node: mean / p50 / p95 / p99 / max (ms per step)");
+			for (String line : getReport())
+			{
+				writer.println(line);
+			}
+			return true;
+		}
+		catch (IOException ioe)
+		{
+			System.err.println("Failed to write the profile to " + file);
+			return false;
+		}
+		finally
+		{
+			if (writer != null)
+				writer.close();
+		}
+	}
+	
+	/**
+	 * @return A line for each node of the measurement tree. Each line tells 
+	 * the mean, median, 95th and 99th percentiles and the maximum time used 
+	 * per step
+	 */
+	public ArrayList<String> getReport()
+	{
+		ArrayList<String> lines = new ArrayList<String>();
+		this.actroot.report(lines, "");
+		this.drawroot.report(lines, "");
+		return lines;
+	}
+	
+	// Returns the node of the handler, the handlers without a parent are 
+	// added to the roots
+	private ProfileNode getHandlerNode(Handler<?> h, boolean drawing)
+	{
+		ProfileNode node = this.handlernodes.get(h);
+		
+		if (node == null)
+		{
+			if (drawing)
+				node = this.drawroot.getChild(h, getNodeName(h));
+			else
+				node = this.actroot.getChild(h, getNodeName(h));
+			
+			ProfileNode previous = this.handlernodes.putIfAbsent(h, node);
+			if (previous != null)
+				node = previous;
+		}
+		
+		return node;
+	}
+	
+	// Anonymous classes don't have a simple name
+	private static String getNodeName(Object o)
+	{
+		String name = o.getClass().getSimpleName();
+		
+		if (name.isEmpty())
+			return o.getClass().getName();
+		return name;
+	}
+	
+	
+	// SUBCLASSES	------------------------------------------------------
+	
+	/**
+	 * ProfileNode holds the measurements of a single handler or a class of 
+	 * handleds.
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	public static class ProfileNode
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private String name;
+		private LinkedHashMap<Object, ProfileNode> children;
+		private AtomicLong current;
+		private long[] samples;
+		private int sampleindex, samplenumber;
+		private volatile boolean measured;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		private ProfileNode(String name, int samplecapacity)
+		{
+			// Initializes attributes
+			this.name = name;
+			this.children = new LinkedHashMap<Object, ProfileNode>();
+			this.current = new AtomicLong(0);
+			this.samples = new long[samplecapacity];
+			this.sampleindex = 0;
+			this.samplenumber = 0;
+			this.measured = false;
+		}
+		
+		
+		// GETTERS & SETTERS	----------------------------------------
+		
+		/**
+		 * @return The name of the node
+		 */
+		public String getName()
+		{
+			return this.name;
+		}
+		
+		/**
+		 * @return The nodes under this node
+		 */
+		public synchronized ArrayList<ProfileNode> getChildren()
+		{
+			return new ArrayList<ProfileNode>(this.children.values());
+		}
+		
+		/**
+		 * Calculates a percentile of the time used per step over the latest 
+		 * steps
+		 * 
+		 * @param percentile The percentile [0, 100]
+		 * @return The time used per step at the given percentile 
+		 * (nanoseconds)
+		 */
+		public synchronized long getPercentile(double percentile)
+		{
+			if (this.samplenumber == 0)
+				return 0;
+			
+			long[] sorted = Arrays.copyOf(this.samples, this.samplenumber);
+			Arrays.sort(sorted);
+			
+			int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+			return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+		}
+		
+		/**
+		 * @return The average time used per step over the latest steps 
+		 * (nanoseconds)
+		 */
+		public synchronized long getMean()
+		{
+			if (this.samplenumber == 0)
+				return 0;
+			
+			long sum = 0;
+			for (int i = 0; i < this.samplenumber; i++)
+			{
+				sum += this.samples[i];
+			}
+			
+			return sum / this.samplenumber;
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		private synchronized ProfileNode getChild(Object key, String name)
+		{
+			ProfileNode child = this.children.get(key);
+			
+			if (child == null)
+			{
+				child = new ProfileNode(name, this.samples.length);
+				this.children.put(key, child);
+			}
+			
+			return child;
+		}
+		
+		private void add(long nanos)
+		{
+			this.measured = true;
+			this.current.addAndGet(nanos);
+		}
+		
+		private long endStep()
+		{
+			long steptime = this.current.getAndSet(0);
+			long childtime = 0;
+			
+			for (ProfileNode child : getChildren())
+			{
+				childtime += child.endStep();
+			}
+			
+			// The nodes that aren't measured directly (like the roots) are 
+			// measured through their children
+			if (!this.measured)
+				steptime = childtime;
+			
+			synchronized (this)
+			{
+				this.samples[this.sampleindex] = steptime;
+				this.sampleindex = (this.sampleindex + 1) % this.samples.length;
+				if (this.samplenumber < this.samples.length)
+					this.samplenumber ++;
+			}
+			
+			return steptime;
+		}
+		
+		private void report(ArrayList<String> lines, String indent)
+		{
+			lines.add(indent + getName() + ": " + toMillis(getMean()) + 
+					" / " + toMillis(getPercentile(50)) + " / " +
+					toMillis(getPercentile(95)) + " / " +
+					toMillis(getPercentile(99)) + " / " +
+					toMillis(getPercentile(100)));
+			
+			for (ProfileNode child : getChildren())
+			{
+				child.report(lines, indent + "  ");
+			}
+		}
+		
+		private static String toMillis(long nanos)
+		{
+			return String.format("%.3f", nanos / 1000000.0);
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package handlers;
 
-import handleds.Handled;
 import listeners.AdvancedKeyListener;
 
 /**
@@ -9,7 +8,7 @@ import listeners.AdvancedKeyListener;
  * @author Mikko Hilpinen.
  *         Created 14.12.2012.
  */
-public class KeyListenerHandler extends LogicalHandler implements AdvancedKeyListener
+public class KeyListenerHandler extends LogicalHandler<AdvancedKeyListener> implements AdvancedKeyListener
 {
 	// CONSTRUCTOR	-----------------------------------------------------
 	
@@ -75,12 +74,7 @@ public class KeyListenerHandler extends LogicalHandler implements AdvancedKeyLis
 	// Casts a handled to listener
 	private AdvancedKeyListener getListener(int index)
 	{
-		Handled maybeListener = getHandled(index);
-		
-		if (maybeListener instanceof AdvancedKeyListener)
-			return (AdvancedKeyListener) maybeListener;
-		else
-			return null;
+		return getHandled(index);
 	}
 	
 	/**
@@ -1,18 +1,46 @@
 package handlers;
 
-import handleds.Handled;
 import handleds.LogicalHandled;
+import handleds.ObservableLogicalHandled;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import listeners.LogicalStateListener;
 
 /**
  * LogicalHandlers specialize in logicalhandleds instead of just any handlers. 
  * This class provides some methods necessary for all subclasses and can be used as
- * a logical handled in other handlers.
+ * a logical handled in other handlers.<p>
+ *
+ * The handler keeps count of its active handleds so that it knows whether 
+ * it is active without checking all of its handleds. Only the handleds that 
+ * don't inform about their state are checked each time. The handleds that 
+ * are queued but not yet added may be active, so the handler counts as 
+ * active while it has any, which makes sure that its superhandler still 
+ * calls it and the handleds get added. The handler informs its own 
+ * listeners when it becomes active or inactive.
  *
+ * @param <T> The type of logicalhandled handled by the handler
  * @author Mikko Hilpinen.
  *         Created 8.12.2012.
  */
-public abstract class LogicalHandler extends Handler implements LogicalHandled
+public abstract class LogicalHandler<T extends LogicalHandled> extends
+		Handler<T> implements ObservableLogicalHandled, LogicalStateListener
 {
+	// ATTRIBUTES	-------------------------------------------------------
+	
+	// The states of the observed handleds (null until the state is known)
+	private IdentityHashMap<LogicalHandled, Boolean> handledstates;
+	private int activenumber;
+	private Set<T> unobservedhandleds;
+	// A snapshot of the unobserved handleds (null after a change)
+	private LogicalHandled[] unobservedarray;
+	private LogicalStateListeners statelisteners;
+	private boolean lastactive; // The state the listeners were informed of
+	
+	
 	// CONSTRUCTOR	-------------------------------------------------------
 
 	/**
@@ -21,9 +49,18 @@ public abstract class LogicalHandler extends Handler implements LogicalHandled
 	 * @param autodeath Will the handler die if it runs out of living handleds
 	 * @param superhandler The handler that will handle this handler (optional)
 	 */
-	public LogicalHandler(boolean autodeath, LogicalHandler superhandler)
+	public LogicalHandler(boolean autodeath, LogicalHandler<?> superhandler)
 	{
 		super(autodeath, superhandler);
+		
+		// Initializes attributes
+		this.handledstates = new IdentityHashMap<LogicalHandled, Boolean>();
+		this.activenumber = 0;
+		this.unobservedhandleds = Collections.newSetFromMap(
+				new IdentityHashMap<T, Boolean>());
+		this.unobservedarray = null;
+		this.statelisteners = new LogicalStateListeners(this);
+		this.lastactive = false;
 	}
 	
 	
@@ -32,10 +69,24 @@ public abstract class LogicalHandler extends Handler implements LogicalHandled
 	@Override
 	public boolean isActive()
 	{
+		// The handleds added during this step are counted as well
+		applyQueuedHandleds();
+		
 		// Returns false only if all the handleds are inactive
-		for (int i = 0; i < getHandledNumber(); i++)
+		synchronized (this)
 		{
-			if (getLogicalHandled(i).isActive())
+			if (this.activenumber > 0)
+				return true;
+		}
+		
+		// The handleds that couldn't be added yet may be active
+		if (hasQueuedHandleds())
+			return true;
+		
+		// Only the handleds that don't inform their state need to be checked
+		for (LogicalHandled h : getUnobservedHandleds())
+		{
+			if (h.isActive())
 				return true;
 		}
 		
@@ -49,6 +100,9 @@ public abstract class LogicalHandler extends Handler implements LogicalHandled
 		// objects could not be activated
 		boolean returnValue = true;
 		
+		// The handleds added during this step are affected as well
+		removeDeadHandleds();
+		
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
 			if (!getLogicalHandled(i).activate())
@@ -65,6 +119,9 @@ public abstract class LogicalHandler extends Handler implements LogicalHandled
 		// could not be inactivated
 		boolean returnValue = true;
 		
+		// The handleds added during this step are affected as well
+		removeDeadHandleds();
+		
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
 			if (!getLogicalHandled(i).inactivate())
@@ -75,16 +132,168 @@ public abstract class LogicalHandler extends Handler implements LogicalHandled
 	}
 	
 	
+	@Override
+	public void addLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.add(listener);
+	}
+	
+	@Override
+	public void removeLogicalStateListener(LogicalStateListener listener)
+	{
+		this.statelisteners.remove(listener);
+	}
+	
+	@Override
+	public void onActivityChange(LogicalHandled source, boolean active)
+	{
+		synchronized (this)
+		{
+			// Only the states of the handled objects are counted
+			if (!this.handledstates.containsKey(source))
+				return;
+			
+			Boolean wasactive = this.handledstates.get(source);
+			if (wasactive != null && wasactive == active)
+				return;
+			
+			this.handledstates.put(source, active);
+			if (active)
+				this.activenumber ++;
+			else if (wasactive != null)
+				this.activenumber --;
+		}
+		
+		informActivityChange();
+	}
+	
+	@Override
+	protected void onHandledQueued(T h)
+	{
+		// The handler may become active once the handled is added
+		informActivityChange();
+	}
+	
+	@Override
+	protected void onHandledAdded(T h)
+	{
+		if (h instanceof ObservableLogicalHandled)
+		{
+			// The handled is marked before its state is checked so that the 
+			// changes made in the meanwhile aren't missed
+			synchronized (this)
+			{
+				this.handledstates.put(h, null);
+			}
+			
+			((ObservableLogicalHandled) h).addLogicalStateListener(this);
+			boolean active = h.isActive();
+			
+			synchronized (this)
+			{
+				// If the state already changed, the new state is used
+				if (this.handledstates.containsKey(h) && 
+						this.handledstates.get(h) == null)
+				{
+					this.handledstates.put(h, active);
+					if (active)
+						this.activenumber ++;
+				}
+			}
+		}
+		else
+		{
+			synchronized (this)
+			{
+				this.unobservedhandleds.add(h);
+				this.unobservedarray = null;
+			}
+		}
+		
+		informActivityChange();
+	}
+	
+	@Override
+	protected void onHandledRemoved(T h)
+	{
+		if (h instanceof ObservableLogicalHandled)
+		{
+			((ObservableLogicalHandled) h).removeLogicalStateListener(this);
+			
+			synchronized (this)
+			{
+				Boolean wasactive = this.handledstates.remove(h);
+				if (wasactive != null && wasactive)
+					this.activenumber --;
+			}
+		}
+		else
+		{
+			synchronized (this)
+			{
+				this.unobservedhandleds.remove(h);
+				this.unobservedarray = null;
+			}
+		}
+		
+		informActivityChange();
+	}
+	
+	
 	// OTHER METHODS	--------------------------------------------------
 
-	// Casts the handled object to an logical object (or null)
+	// Returns the handled object as a logical object (or null)
 	private LogicalHandled getLogicalHandled(int index)
 	{
-		Handled maybelogical = getHandled(index);
+		return getHandled(index);
+	}
+	
+	// Returns the handleds that don't inform their state. The array is 
+	// only rebuilt after the handleds have changed.
+	private synchronized LogicalHandled[] getUnobservedHandleds()
+	{
+		if (this.unobservedarray == null)
+			this.unobservedarray = this.unobservedhandleds.toArray(
+					new LogicalHandled[this.unobservedhandleds.size()]);
 		
-		if (maybelogical instanceof LogicalHandled)
-			return (LogicalHandled) maybelogical;
-		else
-			return null;
+		return this.unobservedarray;
+	}
+	
+	// Informs the listeners if the handler has become active or inactive. 
+	// The changes in the handleds that don't inform their state are noticed 
+	// only when something else changes.
+	private void informActivityChange()
+	{
+		boolean active = false;
+		
+		synchronized (this)
+		{
+			if (this.activenumber > 0)
+				active = true;
+		}
+		
+		if (!active && hasQueuedHandleds())
+			active = true;
+		
+		if (!active)
+		{
+			for (LogicalHandled h : getUnobservedHandleds())
+			{
+				if (h.isActive())
+				{
+					active = true;
+					break;
+				}
+			}
+		}
+		
+		synchronized (this)
+		{
+			if (active == this.lastactive)
+				return;
+			this.lastactive = active;
+		}
+		
+		this.statelisteners.informActivityChange(active);
 	}
 }
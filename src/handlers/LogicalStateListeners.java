@@ -0,0 +1,77 @@
+package handlers;
+
+import handleds.ObservableLogicalHandled;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import listeners.LogicalStateListener;
+
+/**
+ * LogicalStateListeners keeps the logicalstatelisteners of a single 
+ * observablelogicalhandled and informs them when the handled's activity 
+ * changes. The listeners can be added and removed while they are being 
+ * informed.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see ObservableLogicalHandled
+ */
+public class LogicalStateListeners
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private ObservableLogicalHandled source;
+	private CopyOnWriteArrayList<LogicalStateListener> listeners;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new empty set of listeners
+	 * 
+	 * @param source The object whose activity the listeners are informed of
+	 */
+	public LogicalStateListeners(ObservableLogicalHandled source)
+	{
+		// Initializes attributes
+		this.source = source;
+		this.listeners = new CopyOnWriteArrayList<LogicalStateListener>();
+	}
+	
+	
+	// OTHER METHODS	---------------------------------------------------
+	
+	/**
+	 * Adds a new listener. The same listener is added only once.
+	 * 
+	 * @param listener The listener that will be informed (null is ignored)
+	 */
+	public void add(LogicalStateListener listener)
+	{
+		if (listener != null)
+			this.listeners.addIfAbsent(listener);
+	}
+	
+	/**
+	 * Removes a listener so that it won't be informed anymore
+	 * 
+	 * @param listener The listener that will be removed
+	 */
+	public void remove(LogicalStateListener listener)
+	{
+		this.listeners.remove(listener);
+	}
+	
+	/**
+	 * Informs all the listeners about the source's new activity
+	 * 
+	 * @param active Is the source active now
+	 */
+	public void informActivityChange(boolean active)
+	{
+		for (LogicalStateListener listener : this.listeners)
+		{
+			listener.onActivityChange(this.source, active);
+		}
+	}
+}
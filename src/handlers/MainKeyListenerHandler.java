@@ -1,7 +1,6 @@
 package handlers;
 
-import handleds.Actor;
-import handleds.Handled;
+import handleds.TimedActor;
 
 import java.util.ArrayList;
 
@@ -15,7 +14,7 @@ import listeners.AdvancedKeyListener;
  * @author Mikko Hilpinen.
  *         Created 2.12.2012.
  */
-public class MainKeyListenerHandler extends LogicalHandler implements Actor
+public class MainKeyListenerHandler extends LogicalHandler<AdvancedKeyListener> implements TimedActor
 {
 	// ATTRIBUTES	------------------------------------------------------
 	
@@ -51,6 +50,13 @@ public class MainKeyListenerHandler extends LogicalHandler implements Actor
 	
 	
 	// IMPLEMENTED METHODS	----------------------------------------------
+	
+	@Override
+	public void act(double steps)
+	{
+		// The key events are informed once per step regardless of its length
+		act();
+	}
 
 	@Override
 	public void act()
@@ -195,10 +201,6 @@ public class MainKeyListenerHandler extends LogicalHandler implements Actor
 	
 	private AdvancedKeyListener getListener(int index)
 	{
-		Handled maybeListener = getHandled(index);
-		if (maybeListener instanceof AdvancedKeyListener)
-			return (AdvancedKeyListener) maybeListener;
-		else
-			return null;
+		return getHandled(index);
 	}
 }
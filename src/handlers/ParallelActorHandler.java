@@ -0,0 +1,162 @@
+package handlers;
+
+import handleds.Actor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelActorHandler calls its actors at the same time using multiple 
+ * threads. The actors are divided into fixed groups by their order in the 
+ * handler and the handler waits until all of the actors have finished acting 
+ * before it returns. The actors in the handler must not depend on each other 
+ * during the step.<p>
+ *
+ * The order between different phases of a step (for example input, physics, 
+ * collision checking and camera) can be kept by adding a separate handler 
+ * for each phase into a normal actorhandler, which calls the phases one 
+ * after another. Only the actors inside a single phase are called at the 
+ * same time.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ */
+public class ParallelActorHandler extends ActorHandler
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private static final ForkJoinPool POOL = new ForkJoinPool();
+	
+	private int mingroupsize;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new parallelactorhandler. Actors must be added manually later
+	 * 
+	 * @param autodeath Will the handler die if there are no living actors to 
+	 * be handled
+	 * @param superhandler The handler that will call the act-event of the 
+	 * object (optional)
+	 */
+	public ParallelActorHandler(boolean autodeath, ActorHandler superhandler)
+	{
+		super(autodeath, superhandler);
+		
+		// Initializes attributes
+		this.mingroupsize = 1;
+	}
+	
+	
+	// IMPLEMENTED METHODS	----------------------------------------------
+	
+	@Override
+	public void act(double steps)
+	{
+		// Checks the liveliness of the actors
+		removeDeadHandleds();
+		
+		int legacyacts = countLegacyActs(steps);
+		// The actors added during the step are called on the next step
+		Actor[] actors = getHandledArray();
+		
+		// Small groups are simply called in this thread
+		int groupsize = Math.max(this.mingroupsize, 
+				actors.length / (POOL.getParallelism() * 4));
+		
+		if (actors.length <= groupsize)
+		{
+			for (int i = 0; i < actors.length; i++)
+			{
+				callAct(actors[i], steps, legacyacts);
+			}
+		}
+		else
+			POOL.invoke(new ActTask(actors, 0, actors.length, groupsize, steps, 
+					legacyacts));
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return How many actors are called in a single thread at least
+	 */
+	public int getMinimumGroupSize()
+	{
+		return this.mingroupsize;
+	}
+	
+	/**
+	 * Changes how many actors are called in a single thread at least. Larger 
+	 * groups are better for actors that act very quickly.
+	 * 
+	 * @param mingroupsize The new minimum group size (> 0, 1 by default)
+	 */
+	public void setMinimumGroupSize(int mingroupsize)
+	{
+		if (mingroupsize > 0)
+			this.mingroupsize = mingroupsize;
+	}
+	
+	
+	// SUBCLASSES	------------------------------------------------------
+	
+	/**
+	 * ActTask calls a range of actors, dividing the range into smaller tasks 
+	 * if necessary.
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private class ActTask extends RecursiveAction
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private static final long serialVersionUID = 1L;
+		
+		private Actor[] actors;
+		private int start, end, groupsize, legacyacts;
+		private double steps;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public ActTask(Actor[] actors, int start, int end, int groupsize, 
+				double steps, int legacyacts)
+		{
+			// Initializes attributes
+			this.actors = actors;
+			this.start = start;
+			this.end = end;
+			this.groupsize = groupsize;
+			this.steps = steps;
+			this.legacyacts = legacyacts;
+		}
+		
+		
+		// IMPLEMENTED METHODS	----------------------------------------
+		
+		@Override
+		protected void compute()
+		{
+			// Small enough groups are called directly
+			if (this.end - this.start <= this.groupsize)
+			{
+				for (int i = this.start; i < this.end; i++)
+				{
+					callAct(this.actors[i], this.steps, this.legacyacts);
+				}
+				return;
+			}
+			
+			// Larger groups are divided into two
+			int middle = (this.start + this.end) / 2;
+			invokeAll(new ActTask(this.actors, this.start, middle, 
+					this.groupsize, this.steps, this.legacyacts),
+					new ActTask(this.actors, middle, this.end, this.groupsize,
+					this.steps, this.legacyacts));
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package handlers;
 
-import handleds.Handled;
 import worlds.Room;
 import listeners.RoomListener;
 
@@ -11,7 +10,7 @@ import listeners.RoomListener;
  * @author Mikko Hilpinen.
  *         Created 11.7.2013.
  */
-public class RoomListenerHandler extends LogicalHandler implements RoomListener
+public class RoomListenerHandler extends LogicalHandler<RoomListener> implements RoomListener
 {
 	// CONSTRUCTOR	------------------------------------------------------
 	
@@ -78,11 +77,6 @@ public class RoomListenerHandler extends LogicalHandler implements RoomListener
 	
 	private RoomListener getListener(int index)
 	{
-		Handled maybelistener = getHandled(index);
-		
-		if (maybelistener instanceof RoomListener)
-			return (RoomListener) maybelistener;
-		else
-			return null;
+		return getHandled(index);
 	}
 }
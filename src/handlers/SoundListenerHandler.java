@@ -1,7 +1,6 @@
 package handlers;
 
 import sound.Sound;
-import handleds.Handled;
 import listeners.SoundListener;
 
 /**
@@ -11,7 +10,7 @@ import listeners.SoundListener;
  * @author Mikko Hilpinen.
  *         Created 19.8.2013.
  */
-public class SoundListenerHandler extends LogicalHandler implements SoundListener
+public class SoundListenerHandler extends LogicalHandler<SoundListener> implements SoundListener
 {
 	// CONSTRUCTOR	-----------------------------------------------------
 	
@@ -72,12 +71,7 @@ public class SoundListenerHandler extends LogicalHandler implements SoundListene
 	
 	private SoundListener getListener(int index)
 	{
-		Handled maybelistener = getHandled(index);
-		
-		if (maybelistener instanceof SoundListener)
-			return (SoundListener) maybelistener;
-		else
-			return null;
+		return getHandled(index);
 	}
 	
 	/**
@@ -1,5 +1,9 @@
 package handlers;
 
+import helpAndEnums.StepPolicy;
+
+import java.util.concurrent.locks.LockSupport;
+
 import video.GameWindow;
 
 
@@ -9,16 +13,34 @@ import video.GameWindow;
  * this object. This object doesn't stop functioning by itself if it runs out 
  * of actors.<p>
  *
+ * The stephandler doesn't keep the processor busy between the steps but 
+ * parks the thread until the next step should be performed. If the steps are 
+ * late, the stephandler reacts according to its steppolicy.<p>
+ *
+ * Timed actors are told how many standard steps each step lasted so the 
+ * game speed doesn't depend on the step duration.
+ *
  * @author Mikko Hilpinen.
  *         Created 29.11.2012.
+ * @see StepPolicy
+ * @see handleds.TimedActor
  */
 public class StepHandler extends ActorHandler implements Runnable
 {
 	// ATTRIBUTES	-------------------------------------------------------
 	
-	private int stepduration;
-	private long lastMillis;
-	private boolean running;
+	/**
+	 * How long a single standard step lasts in milliseconds. The speeds 
+	 * and other step-based values are scaled to this duration.
+	 */
+	public static final int STEPLENGTH = 15;
+	
+	private long stepnanos, nextstep, laststep, lastlateness, maxlateness, 
+			droppedsteps;
+	private int maxcatchupsteps;
+	private double steplength;
+	private volatile boolean running;
+	private StepPolicy policy;
 	private GameWindow window;
 	
 	
@@ -27,7 +49,7 @@ public class StepHandler extends ActorHandler implements Runnable
 	/**
 	 * This creates a new stephandler. Actors are informed 
 	 * when a certain number of milliseconds has passed. Actors can be 
-	 * added using addActor method.
+	 * added using addActor method. Steps that are late are dropped.
 	 * 
 	 * @param stepDuration How long does a single step last in milliseconds.
 	 * In other words, how often are the actors updated.
@@ -35,11 +57,35 @@ public class StepHandler extends ActorHandler implements Runnable
 	 * @see #addActor(handleds.Actor)
 	 */
 	public StepHandler(int stepDuration, GameWindow window)
+	{
+		this(stepDuration, StepPolicy.DROP, window);
+	}
+	
+	/**
+	 * This creates a new stephandler. Actors are informed 
+	 * when a certain number of milliseconds has passed. Actors can be 
+	 * added using addActor method.
+	 * 
+	 * @param stepDuration How long does a single step last in milliseconds. 
+	 * In other words, how often are the actors updated.
+	 * @param policy How the stephandler reacts to late steps
+	 * @param window The which which created the stepHandler (optional)
+	 * @see #addActor(handleds.Actor)
+	 */
+	public StepHandler(int stepDuration, StepPolicy policy, GameWindow window)
 	{
 		super(false, null); // Stephandler doesn't have a superhandler
-		this.stepduration = stepDuration;
 		
-		this.lastMillis = 0;
+		// Initializes attributes
+		this.stepnanos = stepDuration * 1000000L;
+		this.steplength = stepDuration / (double) STEPLENGTH;
+		this.policy = policy;
+		this.maxcatchupsteps = 5;
+		this.nextstep = 0;
+		this.laststep = 0;
+		this.lastlateness = 0;
+		this.maxlateness = 0;
+		this.droppedsteps = 0;
 		this.running = false;
 		this.window = window;
 	}
@@ -51,37 +97,173 @@ public class StepHandler extends ActorHandler implements Runnable
 	public void run()
 	{
 		this.running = true;
+		this.nextstep = System.nanoTime();
+		this.laststep = this.nextstep - this.stepnanos;
 		
-		// Starts counting steps and does it until the object is killed
+		// Performs steps until the object is killed
 		while (this.running)
+		{
+			waitForNextStep();
 			update();
+		}
+	}
+	
+	
+	// GETTERS & SETTERS	-----------------------------------------------
+	
+	/**
+	 * @return How late the last step was performed (nanoseconds)
+	 */
+	public long getLastLateness()
+	{
+		return this.lastlateness;
+	}
+	
+	/**
+	 * @return How late the latest step has been so far (nanoseconds)
+	 */
+	public long getMaxLateness()
+	{
+		return this.maxlateness;
+	}
+	
+	/**
+	 * @return How many steps have been dropped so far because they were late
+	 */
+	public long getDroppedStepNumber()
+	{
+		return this.droppedsteps;
+	}
+	
+	/**
+	 * @return How the stephandler reacts to late steps
+	 */
+	public StepPolicy getStepPolicy()
+	{
+		return this.policy;
+	}
+	
+	/**
+	 * Changes how the stephandler reacts to late steps
+	 * 
+	 * @param policy The new steppolicy
+	 */
+	public void setStepPolicy(StepPolicy policy)
+	{
+		if (policy != null)
+			this.policy = policy;
+	}
+	
+	/**
+	 * Changes how many missed steps can be performed at once when the 
+	 * stephandler tries to catch up with its schedule. The rest of the missed 
+	 * steps are dropped.
+	 * 
+	 * @param maxcatchupsteps How many steps may be performed in addition to 
+	 * the normal step (>= 0, 5 by default). With variable steps this limits 
+	 * the length of a single step.
+	 * @see StepPolicy#CATCHUP
+	 */
+	public void setMaxCatchUpSteps(int maxcatchupsteps)
+	{
+		if (maxcatchupsteps >= 0)
+			this.maxcatchupsteps = maxcatchupsteps;
 	}
 	
 	
 	// OTHER METHODS	--------------------------------------------------
 	
-	// This method updates the actors and the window when needed
-	private void update()
+	// Parks the thread until the next step should be performed
+	private void waitForNextStep()
 	{
-		// Checks the current millis and performs a "step" if needed
-		if (Math.abs(System.currentTimeMillis() - this.lastMillis) > 
-			this.stepduration)
+		long remaining = this.nextstep - System.nanoTime();
+		
+		while (remaining > 0)
 		{
-			// Calls all actors
-			if (!isDead())
+			LockSupport.parkNanos(this, remaining);
+			
+			// An interrupted thread can't be parked anymore
+			if (Thread.currentThread().isInterrupted())
 			{
-				act();
-				
-				// Updates the game according to the changes
-				this.window.callScreenUpdate();
-				this.window.callMousePositionUpdate();
+				this.running = false;
+				return;
 			}
-			// Stops running if dies
-			else
+			
+			remaining = this.nextstep - System.nanoTime();
+		}
+	}
+	
+	// Informs the profiler (if there is one) that a step has ended
+	private static void endProfilerStep()
+	{
+		HandlerProfiler profiler = HandlerProfiler.getActiveProfiler();
+		if (profiler != null)
+			profiler.endStep();
+	}
+	
+	// This method updates the actors and the window
+	private void update()
+	{
+		if (!this.running)
+			return;
+		
+		// Checks how late the step is and how many steps have been missed
+		long now = System.nanoTime();
+		long lateness = now - this.nextstep;
+		long missedsteps = lateness / this.stepnanos;
+		
+		this.lastlateness = lateness;
+		if (lateness > this.maxlateness)
+			this.maxlateness = lateness;
+		
+		// Decides how many steps are performed now
+		int steps = 1;
+		if (this.policy != StepPolicy.DROP)
+			steps += (int) Math.min(missedsteps, this.maxcatchupsteps);
+		this.droppedsteps += missedsteps - (steps - 1);
+		
+		// Schedules the next step
+		this.nextstep += (missedsteps + 1) * this.stepnanos;
+		
+		// With variable steps, the actors are called only once and told how 
+		// long the step was
+		if (this.policy == StepPolicy.VARIABLE)
+		{
+			long elapsed = Math.min(now - this.laststep, steps * this.stepnanos);
+			this.laststep = now;
+			
+			if (isDead())
+			{
 				this.running = false;
+				return;
+			}
 			
-			// Remembers the time
-			this.lastMillis = System.currentTimeMillis();
+			act(elapsed / (STEPLENGTH * 1000000.0));
+			endProfilerStep();
+		}
+		else
+		{
+			for (int i = 0; i < steps; i++)
+			{
+				// Stops running if dies
+				if (isDead())
+				{
+					this.running = false;
+					return;
+				}
+				
+				// Calls all actors
+				act(this.steplength);
+				endProfilerStep();
+			}
+			this.laststep = now;
+		}
+				
+		// Updates the game according to the changes
+		if (this.window != null)
+		{
+			this.window.callScreenUpdate();
+			this.window.callMousePositionUpdate();
 		}
 	}
 }
@@ -0,0 +1,158 @@
+package handlers;
+
+/**
+ * SweepAndPruneBroadPhase sorts the objects by the left edges of their 
+ * bounds and sweeps through them from left to right. Only the objects whose 
+ * bounds overlap horizontally are compared with each other. The order of the 
+ * objects is remembered between the steps so that the sorting is fast when 
+ * the objects move only a little.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ */
+public class SweepAndPruneBroadPhase implements BroadPhase
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	// The listeners are marked with their own indexes and the collidables 
+	// with their indexes + listenernumber
+	private int[] order;
+	private int[] activelisteners, activecollidables;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new broadphase
+	 */
+	public SweepAndPruneBroadPhase()
+	{
+		// Initializes attributes
+		this.order = new int[0];
+		this.activelisteners = new int[0];
+		this.activecollidables = new int[0];
+	}
+	
+	
+	// IMPLEMENTED METHODS	--------------------------------------------
+	
+	@Override
+	public void findPairs(double[] listenerbounds, int listenernumber, 
+			double[] collidablebounds, int collidablenumber, 
+			CandidatePairs pairs)
+	{
+		int total = listenernumber + collidablenumber;
+		
+		// The order is started over if the number of objects changes
+		if (this.order.length != total)
+		{
+			this.order = new int[total];
+			for (int i = 0; i < total; i++)
+			{
+				this.order[i] = i;
+			}
+			this.activelisteners = new int[listenernumber];
+			this.activecollidables = new int[collidablenumber];
+		}
+		else if (this.activelisteners.length != listenernumber)
+		{
+			this.activelisteners = new int[listenernumber];
+			this.activecollidables = new int[collidablenumber];
+		}
+		
+		// Insertion sort is fast since the order rarely changes much
+		for (int i = 1; i < total; i++)
+		{
+			int object = this.order[i];
+			double minx = getMinX(object, listenerbounds, listenernumber, 
+					collidablebounds);
+			int j = i - 1;
+			
+			while (j >= 0 && getMinX(this.order[j], listenerbounds, 
+					listenernumber, collidablebounds) > minx)
+			{
+				this.order[j + 1] = this.order[j];
+				j --;
+			}
+			this.order[j + 1] = object;
+		}
+		
+		// Sweeps through the objects, remembering the ones that are still 
+		// overlapping horizontally
+		int activelistenernumber = 0;
+		int activecollidablenumber = 0;
+		
+		for (int i = 0; i < total; i++)
+		{
+			int object = this.order[i];
+			double minx = getMinX(object, listenerbounds, listenernumber, 
+					collidablebounds);
+			
+			activelistenernumber = prune(this.activelisteners, 
+					activelistenernumber, listenerbounds, minx);
+			activecollidablenumber = prune(this.activecollidables, 
+					activecollidablenumber, collidablebounds, minx);
+			
+			if (object < listenernumber)
+			{
+				for (int c = 0; c < activecollidablenumber; c++)
+				{
+					if (overlapsVertically(listenerbounds, object, 
+							collidablebounds, this.activecollidables[c]))
+						pairs.add(object, this.activecollidables[c]);
+				}
+				this.activelisteners[activelistenernumber++] = object;
+			}
+			else
+			{
+				int collidable = object - listenernumber;
+				for (int l = 0; l < activelistenernumber; l++)
+				{
+					if (overlapsVertically(listenerbounds, 
+							this.activelisteners[l], collidablebounds, 
+							collidable))
+						pairs.add(this.activelisteners[l], collidable);
+				}
+				this.activecollidables[activecollidablenumber++] = collidable;
+			}
+		}
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	private static double getMinX(int object, double[] listenerbounds, 
+			int listenernumber, double[] collidablebounds)
+	{
+		if (object < listenernumber)
+			return listenerbounds[object * 4];
+		else
+			return collidablebounds[(object - listenernumber) * 4];
+	}
+	
+	// Removes the objects that end before the given x-coordinate and returns 
+	// the new number of active objects
+	private static int prune(int[] active, int activenumber, double[] bounds, 
+			double x)
+	{
+		int i = 0;
+		while (i < activenumber)
+		{
+			if (bounds[active[i] * 4 + 2] < x)
+				active[i] = active[--activenumber];
+			else
+				i ++;
+		}
+		
+		return activenumber;
+	}
+	
+	private static boolean overlapsVertically(double[] listenerbounds, 
+			int listener, double[] collidablebounds, int collidable)
+	{
+		return listenerbounds[listener * 4 + 1] <= 
+				collidablebounds[collidable * 4 + 3] && 
+				collidablebounds[collidable * 4 + 1] <= 
+				listenerbounds[listener * 4 + 3];
+	}
+}
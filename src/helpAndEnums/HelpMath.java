@@ -3,13 +3,78 @@ package helpAndEnums;
 import java.awt.Point;
 
 /**
- * This class calculates some mathematical problems
+ * This class calculates some mathematical problems. The directions are 
+ * given in degrees by default but there are also versions that use radians 
+ * and vectors so that the conversions can be skipped where speed matters.<p>
+ * 
+ * Sines and cosines can also be read from a table instead of calculating 
+ * them. The table is not used by default.
  *
  * @author Mikko Hilpinen.
  *         Created 28.11.2012.
+ * @see #setTrigTableUsed(boolean)
  */
 public class HelpMath
 {
+	// How many sines the table has for a full circle (must be a power of two)
+	private static final int TRIGTABLESIZE = 4096;
+	private static final double[] SINTABLE = createSinTable();
+	private static volatile boolean trigtableused = false;
+	
+	/**
+	 * Changes whether the sines and cosines are read from a table or 
+	 * calculated. The values from the table are faster to get but have an 
+	 * error of up to 3e-7.
+	 * 
+	 * @param used Should the table be used
+	 * @see #sin(double)
+	 * @see #cos(double)
+	 */
+	public static void setTrigTableUsed(boolean used)
+	{
+		trigtableused = used;
+	}
+	
+	/**
+	 * @return Are the sines and cosines read from a table
+	 */
+	public static boolean isTrigTableUsed()
+	{
+		return trigtableused;
+	}
+	
+	/**
+	 * Calculates the sine of an angle. Uses the table if it has been taken 
+	 * into use.
+	 * 
+	 * @param radians The angle (radians)
+	 * @return The sine of the angle
+	 * @see #setTrigTableUsed(boolean)
+	 */
+	public static double sin(double radians)
+	{
+		if (trigtableused)
+			return tableSin(radians);
+		else
+			return Math.sin(radians);
+	}
+	
+	/**
+	 * Calculates the cosine of an angle. Uses the table if it has been taken 
+	 * into use.
+	 * 
+	 * @param radians The angle (radians)
+	 * @return The cosine of the angle
+	 * @see #setTrigTableUsed(boolean)
+	 */
+	public static double cos(double radians)
+	{
+		if (trigtableused)
+			return tableSin(radians + Math.PI / 2);
+		else
+			return Math.cos(radians);
+	}
+	
 	/**
 	 * Calculates the direction from one point to another (in degrees)
 	 *
@@ -80,11 +145,60 @@ public class HelpMath
 	 * @return Distance between points in pixels
 	 */
 	public static double pointDistance(double x1, double y1, double x2, double y2)
+	{
+		return Math.sqrt(pointDistanceSquared(x1, y1, x2, y2));
+	}
+	
+	/**
+	 * Calculates the square of the distance between two points. Distances can 
+	 * be compared by their squares without calculating the square roots.
+	 *
+	 * @param x1 First point's x coordinate
+	 * @param y1 First point's y coordinate
+	 * @param x2 Second point's x coordinate
+	 * @param y2 Second point's y coordinate
+	 * @return The distance between the points squared (pixels^2)
+	 */
+	public static double pointDistanceSquared(double x1, double y1, double x2, 
+			double y2)
 	{
 		double a = x1 - x2;
 		double b = y1 - y2;
 		
-		return Math.sqrt(Math.pow(a, 2) + Math.pow(b, 2));
+		return a * a + b * b;
+	}
+	
+	/**
+	 * Calculates the direction from one point to another (in radians)
+	 *
+	 * @param x1 the first point's x coordinate
+	 * @param y1 the first point's y coordinate
+	 * @param x2 the second point's x coordinate
+	 * @param y2 the second point's y coordinate
+	 * @return the direction from point 1 to point 2 in radians [0, 2*PI[
+	 */
+	public static double pointRadians(double x1, double y1, double x2, double y2)
+	{
+		double radians = -Math.atan2(y2 - y1, x2 - x1);
+		
+		if (radians < 0)
+			radians += 2 * Math.PI;
+		
+		return radians;
+	}
+	
+	/**
+	 * Calculates the dot product of two vectors
+	 *
+	 * @param x1 The first vector's x-component
+	 * @param y1 The first vector's y-component
+	 * @param x2 The second vector's x-component
+	 * @param y2 The second vector's y-component
+	 * @return The dot product of the vectors
+	 */
+	public static double dotProduct(double x1, double y1, double x2, double y2)
+	{
+		return x1 * x2 + y1 * y2;
 	}
 	
 	/**
@@ -122,7 +236,7 @@ public class HelpMath
 	 */
 	public static double lendirX(double length, double direction)
 	{
-		return Math.cos(Math.toRadians(direction))*length;
+		return lenradX(length, Math.toRadians(direction));
 	}
 	
 	/**
@@ -136,7 +250,35 @@ public class HelpMath
 	 */
 	public static double lendirY(double length, double direction)
 	{
-		return -Math.sin(Math.toRadians(direction))*length;
+		return lenradY(length, Math.toRadians(direction));
+	}
+	
+	/**
+	 * Returns the x-coordinate of a point that is <b>length</b> pixels away 
+	 * to direction <b>radians</b> from the origin
+	 *
+	 * @param length How far from the origin the point is (pixels)
+	 * @param radians Towards which direction from the origin the point is 
+	 * (radians)
+	 * @return The point's x-coordinate
+	 */
+	public static double lenradX(double length, double radians)
+	{
+		return cos(radians)*length;
+	}
+	
+	/**
+	 * Returns the y-coordinate of a point that is <b>length</b> pixels away 
+	 * to direction <b>radians</b> from the origin
+	 *
+	 * @param length How far from the origin the point is (pixels)
+	 * @param radians Towards which direction from the origin the point is 
+	 * (radians)
+	 * @return The point's y-coordinate
+	 */
+	public static double lenradY(double length, double radians)
+	{
+		return -sin(radians)*length;
 	}
 	
 	/**
@@ -148,6 +290,10 @@ public class HelpMath
 	 */
 	public static double checkDirection(double direction)
 	{
+		// Most directions are already fine
+		if (direction >= 0 && direction < 360)
+			return direction;
+		
 		double tmpdir = direction % 360;
 		
 		if (tmpdir < 0)
@@ -202,15 +348,14 @@ public class HelpMath
 	public static DoublePoint getRotatedPosition(double originx, double originy, 
 			DoublePoint p, double rotation)
 	{
-		// Calculates the old and the new directions (from the origin to the point)
-		double prevdir = pointDirection(originx, originy, p.getX(), p.getY());
-		double newdir = checkDirection(prevdir + rotation);
-		// Also calculates the distance between the object and the point 
-		// (which stays the same during the process)
-		double dist = pointDistance(originx, originy, p.getX(), p.getY());
-		// Returns the new position after the rotation
-		return new DoublePoint(originx + lendirX(dist, newdir), 
-				originy + lendirY(dist, newdir));
+		double rotationcos = cos(Math.toRadians(rotation));
+		double rotationsin = sin(Math.toRadians(rotation));
+		double xdiff = p.getX() - originx;
+		double ydiff = p.getY() - originy;
+		
+		// Rotates the vector from the origin to the point
+		return new DoublePoint(originx + xdiff * rotationcos + ydiff * rotationsin, 
+				originy - xdiff * rotationsin + ydiff * rotationcos);
 	}
 	
 	/**
@@ -263,4 +408,34 @@ public class HelpMath
 		
 		return angledifference;
 	}
+	
+	private static double tableSin(double radians)
+	{
+		double position = radians * (TRIGTABLESIZE / (2 * Math.PI));
+		
+		// Very large angles can't be indexed
+		if (Math.abs(position) > Integer.MAX_VALUE / 2)
+			return Math.sin(radians);
+		
+		// Interpolates between the two closest values
+		double floor = Math.floor(position);
+		int index = ((int) floor) & (TRIGTABLESIZE - 1);
+		double fraction = position - floor;
+		
+		return SINTABLE[index] + (SINTABLE[index + 1] - SINTABLE[index]) * 
+				fraction;
+	}
+	
+	private static double[] createSinTable()
+	{
+		// The table has one extra value so that the interpolation doesn't 
+		// need to wrap around
+		double[] table = new double[TRIGTABLESIZE + 1];
+		for (int i = 0; i <= TRIGTABLESIZE; i++)
+		{
+			table[i] = Math.sin(2 * Math.PI * i / TRIGTABLESIZE);
+		}
+		
+		return table;
+	}
 }
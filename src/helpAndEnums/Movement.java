@@ -2,7 +2,17 @@ package helpAndEnums;
 
 /**
  * Movement Represents movement the object can have. Movement itself resembles a 
- * two dimensional vector.
+ * two dimensional vector.<p>
+ * 
+ * The movement is stored as horizontal and vertical speeds and most of the 
+ * operations are done with them directly, without calculating the direction 
+ * first. The operations that change the movement itself don't create new 
+ * objects, while the methods that return a new movement are kept for 
+ * convenience.<p>
+ *
+ * The speeds are only read and written through getHSpeed, getVSpeed, 
+ * setHSpeed, setVSpeed and set(double, double), so a subclass may keep the 
+ * speeds somewhere else by overriding those.
  *
  * @author Mikko Hilpinen.
  *         Created 4.7.2013.
@@ -96,7 +106,23 @@ public class Movement
 	 */
 	public double getSpeed()
 	{
-		return HelpMath.pointDistance(0, 0, getHSpeed(), getVSpeed());
+		double hspeed = getHSpeed();
+		double vspeed = getVSpeed();
+		return Math.sqrt(hspeed * hspeed + vspeed * vspeed);
+	}
+	
+	/**
+	 * Calculates how fast the movement goes towards the given direction
+	 * 
+	 * @param direction The direction the speed is measured in (degrees)
+	 * @return The speed towards the direction. Negative if the movement goes 
+	 * away from the direction. (pixels / step)
+	 */
+	public double getDirectionalSpeed(double direction)
+	{
+		double radians = Math.toRadians(direction);
+		return getHSpeed() * HelpMath.cos(radians) - 
+				getVSpeed() * HelpMath.sin(radians);
 	}
 	
 	/**
@@ -126,7 +152,13 @@ public class Movement
 	public void setSpeed(double speed)
 	{
 		// Note: Doesn't work so well when the speed's sign changes
-		setDirSpeed(getDirection(), speed);
+		double currentspeed = getSpeed();
+		
+		// A movement without a direction goes to the right
+		if (currentspeed == 0)
+			set(speed, 0);
+		else
+			multiply(speed / currentspeed);
 	}
 	
 	/**
@@ -151,11 +183,13 @@ public class Movement
 		if (speedloss <= 0)
 			return;
 		
+		double speed = getSpeed();
+		
 		// If speed was already low, sets it to 0
-		if (getSpeed() <= speedloss)
-			setSpeed(0);
-		else if (getSpeed() > 0)
-			setSpeed(getSpeed() - speedloss);
+		if (speed <= speedloss)
+			set(0, 0);
+		else
+			multiply((speed - speedloss) / speed);
 	}
 	
 	/**
@@ -165,12 +199,172 @@ public class Movement
 	 */
 	public void addDirection(double rotation)
 	{
-		setDirection(getDirection() + rotation);
+		double cos = HelpMath.cos(Math.toRadians(rotation));
+		double sin = HelpMath.sin(Math.toRadians(rotation));
+		
+		double hspeed = getHSpeed();
+		double vspeed = getVSpeed();
+		
+		set(hspeed * cos + vspeed * sin, vspeed * cos - hspeed * sin);
+	}
+	
+	/**
+	 * Changes both the direction and the speed of the movement
+	 * 
+	 * @param direction The new direction of the movement (degrees) [0, 360[
+	 * @param speed The movement's new speed (pixels / step)
+	 */
+	public void setDirSpeed(double direction, double speed)
+	{
+		// If speed is 0, simply creates a new movement
+		if (speed == 0)
+		{
+			set(0, 0);
+			return;
+		}
+		
+		set(HelpMath.lendirX(speed, direction), 
+				HelpMath.lendirY(speed, direction));
+	}
+	
+	/**
+	 * Changes the movement's speeds
+	 * 
+	 * @param hspeed The new horizontal speed of the movement (pixels / step)
+	 * @param vspeed The new vertical speed of the movement (pixels / step)
+	 */
+	public void set(double hspeed, double vspeed)
+	{
+		this.hspeed = hspeed;
+		this.vspeed = vspeed;
+	}
+	
+	/**
+	 * Makes the movement the same as the other movement
+	 * 
+	 * @param other The movement that is copied
+	 */
+	public void set(Movement other)
+	{
+		set(other.getHSpeed(), other.getVSpeed());
 	}
 	
 	
 	// OTHER METHODS	--------------------------------------------------
 	
+	/**
+	 * Adds speed to the movement
+	 * 
+	 * @param hspeed How much horizontal speed is added (pixels / step)
+	 * @param vspeed How much vertical speed is added (pixels / step)
+	 */
+	public void add(double hspeed, double vspeed)
+	{
+		set(getHSpeed() + hspeed, getVSpeed() + vspeed);
+	}
+	
+	/**
+	 * Adds another movement to this movement
+	 * 
+	 * @param other The movement that is added
+	 */
+	public void add(Movement other)
+	{
+		add(other.getHSpeed(), other.getVSpeed());
+	}
+	
+	/**
+	 * Adds speed towards a certain direction to the movement
+	 * 
+	 * @param direction The direction of the added speed (degrees)
+	 * @param speed How much speed is added (pixels / step)
+	 */
+	public void addDirSpeed(double direction, double speed)
+	{
+		if (speed == 0)
+			return;
+		
+		add(HelpMath.lendirX(speed, direction), 
+				HelpMath.lendirY(speed, direction));
+	}
+	
+	/**
+	 * Multiplies both of the movement's speeds
+	 * 
+	 * @param multiplier How many times faster the movement becomes
+	 */
+	public void multiply(double multiplier)
+	{
+		set(getHSpeed() * multiplier, getVSpeed() * multiplier);
+	}
+	
+	/**
+	 * Projects the movement to the given direction so that only the speed 
+	 * towards that direction remains
+	 * 
+	 * @param direction The direction to which the movement is projected 
+	 * (degrees) [0, 360[
+	 */
+	public void project(double direction)
+	{
+		double cos = HelpMath.cos(Math.toRadians(direction));
+		double sin = HelpMath.sin(Math.toRadians(direction));
+		double speed = getHSpeed() * cos - getVSpeed() * sin;
+		
+		set(speed * cos, -speed * sin);
+	}
+	
+	/**
+	 * Slows the movement down to the given speed if it's faster than that
+	 * 
+	 * @param maxspeed The maximum speed of the movement (pixels / step) (0+)
+	 */
+	public void clampSpeed(double maxspeed)
+	{
+		double hspeed = getHSpeed();
+		double vspeed = getVSpeed();
+		double squaredspeed = hspeed * hspeed + vspeed * vspeed;
+		
+		if (squaredspeed > maxspeed * maxspeed)
+			multiply(maxspeed / Math.sqrt(squaredspeed));
+	}
+	
+	/**
+	 * Diminishes the movement's one component while keeping the other the 
+	 * same
+	 * 
+	 * @param direction The direction to which the speedloss affects 
+	 * (direction) [0, 360[
+	 * @param speedloss How much (directional) speed is lost (pixels / step)
+	 */
+	public void diminishDirectionalSpeed(double direction, double speedloss)
+	{
+		// Doesn't work with negative values
+		if (speedloss <= 0)
+			return;
+		
+		double cos = HelpMath.cos(Math.toRadians(direction));
+		double sin = HelpMath.sin(Math.toRadians(direction));
+		double speed = getHSpeed() * cos - getVSpeed() * sin;
+		
+		// Only the directional speed is diminished, the other speed is kept
+		double newspeed = 0;
+		if (speed > speedloss)
+			newspeed = speed - speedloss;
+		else if (speed < -speedloss)
+			newspeed = speed + speedloss;
+		
+		add((newspeed - speed) * cos, -(newspeed - speed) * sin);
+	}
+	
+	/**
+	 * @return A new movement with the same speeds
+	 */
+	public Movement copy()
+	{
+		return new Movement(getHSpeed(), getVSpeed());
+	}
+	
 	/**
 	 * Returns a movement projected to the given direction
 	 *
@@ -180,9 +374,9 @@ public class Movement
 	 */
 	public Movement getDirectionalMovement(double direction)
 	{
-		double newspeed = HelpMath.getDirectionalForce(getDirection(), 
-				getSpeed(), direction);
-		return createMovement(direction, newspeed);
+		Movement projection = copy();
+		projection.project(direction);
+		return projection;
 	}
 	
 	/**
@@ -194,7 +388,9 @@ public class Movement
 	 */
 	public Movement getMultiplication(double multiplier)
 	{
-		return new Movement(getHSpeed() * multiplier, getVSpeed() * multiplier);
+		Movement multiplication = copy();
+		multiplication.multiply(multiplier);
+		return multiplication;
 	}
 	
 	/**
@@ -208,15 +404,9 @@ public class Movement
 	public Movement getDirectionalllyDiminishedMovement(double direction, 
 			double speedloss)
 	{
-		// Divides the movement into two ("x" and "y") movements
-		Movement dirmovement = getDirectionalMovement(direction);
-		Movement othermovement = getDirectionalMovement(direction + 90);
-		
-		// Diminishes the directional speed while keepin the other speed the same
-		dirmovement.diminishSpeed(speedloss);
-		
-		// Adds the movements back together
-		return Movement.movementSum(dirmovement, othermovement);
+		Movement diminished = copy();
+		diminished.diminishDirectionalSpeed(direction, speedloss);
+		return diminished;
 	}
 	
 	/**
@@ -234,18 +424,4 @@ public class Movement
 		// Returns the sum of the movements
 		return new Movement(hspeed, vspeed);
 	}
-	
-	private void setDirSpeed(double direction, double speed)
-	{
-		// If speed is 0, simply creates a new movement
-		if (speed == 0)
-		{
-			this.hspeed = 0;
-			this.vspeed = 0;
-			return;
-		}
-		
-		this.hspeed = HelpMath.lendirX(speed, direction);
-		this.vspeed = HelpMath.lendirY(speed, direction);
-	}
 }
@@ -0,0 +1,33 @@
+package helpAndEnums;
+
+/**
+ * StepPolicy tells how a stephandler reacts when it falls behind its schedule, 
+ * that is, when one or more steps should have already been performed.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see handlers.StepHandler
+ */
+public enum StepPolicy
+{
+	/**
+	 * The missed steps are performed right away one after another (up to a 
+	 * certain limit) so that the game keeps its speed even if some steps are 
+	 * late
+	 */
+	CATCHUP,
+	/**
+	 * The missed steps are dropped and the schedule continues from the next 
+	 * possible step. The game slows down when the steps are late.
+	 */
+	DROP,
+	/**
+	 * Each step lasts as long as it actually took. The timed actors are told 
+	 * how much time has passed instead of performing the missed steps. The 
+	 * length of a single step is limited so that very long pauses don't 
+	 * break the game.
+	 * 
+	 * @see handleds.TimedActor
+	 */
+	VARIABLE;
+}
@@ -0,0 +1,36 @@
+package listeners;
+
+import handleds.Collidable;
+
+/**
+ * BufferedCollisionListeners provide their collision points and receive their 
+ * collisions in reusable coordinate tables instead of point objects. This way 
+ * the collisions can be checked without creating any new objects.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see handlers.CollisionHandler
+ */
+public interface BufferedCollisionListener extends CollisionListener
+{
+	/**
+	 * @return The absolute points which are used in the collision tests. The 
+	 * x- and y-coordinates of each point are after each other so the table 
+	 * is twice as long as there are points. The table may be reused and 
+	 * updated when the object moves and must not be modified.
+	 */
+	public double[] getCollisionCoordinates();
+	
+	/**
+	 * This method is called each time the listening object collides with 
+	 * an object. It is called instead of the other onCollision method.
+	 * 
+	 * @param colcoordinates The points in which the collision(s) happened 
+	 * (absolute). The x- and y-coordinates of each point are after each other. 
+	 * The table is reused after the method returns so it shouldn't be stored.
+	 * @param pointnumber How many points there are in the table
+	 * @param collided The object with which the collision(s) happened
+	 */
+	public void onCollision(double[] colcoordinates, int pointnumber, 
+			Collidable collided);
+}
@@ -0,0 +1,40 @@
+package listeners;
+
+import handleds.Collidable;
+
+/**
+ * Contactlisteners are collisionlisteners that are also interested in when 
+ * their contacts with other objects begin and end. A contact begins on the 
+ * first step the objects collide and ends on the first step they don't 
+ * collide anymore.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see handlers.CollisionHandler
+ */
+public interface ContactListener extends CollisionListener
+{
+	/**
+	 * This method is called when the listening object starts colliding with 
+	 * an object
+	 * 
+	 * @param collided The object with which the collision started
+	 */
+	public void onCollisionEnter(Collidable collided);
+	
+	/**
+	 * This method is called on each of the following steps the listening 
+	 * object still collides with the object
+	 * 
+	 * @param collided The object with which the collision continues
+	 */
+	public void onCollisionStay(Collidable collided);
+	
+	/**
+	 * This method is called when the listening object stops colliding with 
+	 * an object
+	 * 
+	 * @param collided The object with which the collision ended
+	 */
+	public void onCollisionExit(Collidable collided);
+}
@@ -0,0 +1,32 @@
+package listeners;
+
+import handleds.Drawable;
+
+/**
+ * Drawablestatelisteners are interested in whether certain drawables are 
+ * visible or not and how deep they are drawn. They should be informed each 
+ * time either of those changes
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see handleds.ObservableDrawable
+ */
+public interface DrawableStateListener
+{
+	/**
+	 * This method should be called each time the object becomes visible or 
+	 * invisible
+	 * 
+	 * @param source The object whose state changed
+	 * @param visible Is the object now visible
+	 */
+	public void onVisibilityChange(Drawable source, boolean visible);
+	
+	/**
+	 * This method should be called each time the object's depth changes
+	 * 
+	 * @param source The object whose depth changed
+	 * @param depth The object's new depth
+	 */
+	public void onDepthChange(Drawable source, int depth);
+}
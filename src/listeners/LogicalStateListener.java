@@ -0,0 +1,23 @@
+package listeners;
+
+import handleds.LogicalHandled;
+
+/**
+ * Logicalstatelisteners are interested in whether certain logicalhandleds 
+ * are active or not and should be informed each time that changes
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see handleds.ObservableLogicalHandled
+ */
+public interface LogicalStateListener
+{
+	/**
+	 * This method should be called each time the object becomes active or 
+	 * inactive
+	 * 
+	 * @param source The object whose state changed
+	 * @param active Is the object now active
+	 */
+	public void onActivityChange(LogicalHandled source, boolean active);
+}
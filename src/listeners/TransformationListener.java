@@ -0,0 +1,23 @@
+package listeners;
+
+import drawnobjects.DrawnObject;
+
+/**
+ * Transformationlisteners are interested in where certain drawnobjects are 
+ * and how they are rotated and scaled. They should be informed each time the 
+ * position, angle or scaling of the object changes
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see drawnobjects.DrawnObject#addTransformationListener(TransformationListener)
+ */
+public interface TransformationListener
+{
+	/**
+	 * This method should be called each time the object's position, angle 
+	 * or scaling changes
+	 * 
+	 * @param source The object that was transformed
+	 */
+	public void onTransformationChange(DrawnObject source);
+}
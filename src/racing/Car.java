@@ -31,13 +31,18 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 {	
 	// ATTRIBUTES	-----------------------------------------------------
 	
+	// The car is made of aluminium and bronze and fills most of its box
+	private static final int DENSITY = (int) (0.8 * 
+			(Material.ALUMINIUMBRONZE.getDensity() + 
+			Material.ALUMINIUM.getDensity()) / 2);
+	
 	private SpriteDrawer spritedrawer;
 	private MaskChecker maskChecker;
 	
 	private double maxdrivespeed, acceleration, turning, maxturning;
 	private double turningfriction, turnrate, brakepower, maxreversespeed;
 	private double slidepower, rotfriction, slideturnmodifier, turbopower; 
-	private double turbospeed;
+	private double turbospeed, laststeps;
 	private boolean sliding;
 	private Point axelposition;
 	
@@ -70,6 +75,7 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 		
 		// Initializes attributes
 		this.sliding = false;
+		this.laststeps = 1;
 		
 		this.maxdrivespeed = 10;		// How fast the car can drive (> 0)
 		this.turning = 0.02;			// How fast the car changes its direction (> 0)
@@ -119,28 +125,30 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 			if (keyCode == KeyEvent.VK_LEFT)
 			{
 				//System.out.println(calculateTurning());
-				turn(calculateTurning());
+				turn(calculateTurning() * this.laststeps);
 			}
 			else if (keyCode == KeyEvent.VK_RIGHT)
-				turn(-calculateTurning());
+				turn(-calculateTurning() * this.laststeps);
 			
 			// Goes forward with up arrowkey
 			else if (keyCode == KeyEvent.VK_UP)
 			{
-				addCheckedBoost(getAngle(), getFriction() + this.acceleration, 
-						this.maxdrivespeed);
+				addCheckedBoost(getAngle(), (getFriction() + this.acceleration) * 
+						this.laststeps, this.maxdrivespeed);
 			}
 			// Goes backwards with bottomkey
 			else if (keyCode == KeyEvent.VK_DOWN)
 				addCheckedBoost(HelpMath.checkDirection(getAngle() + 180), 
-						getFriction() + this.brakepower, this.maxreversespeed);
+						(getFriction() + this.brakepower) * this.laststeps,
+						this.maxreversespeed);
 		}
 		else
 		{
 			// If C was pressed, turbos
 			if (key == 'c')
 			{
-				addCheckedBoost(getAngle(), this.turbopower, this.turbospeed);
+				addCheckedBoost(getAngle(), this.turbopower * this.laststeps, 
+						this.turbospeed);
 			}
 		}
 	}
@@ -181,14 +189,18 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 	}
 	
 	@Override
-	public void act()
+	public void act(double steps)
 	{
-		super.act();
+		super.act(steps);
+		
+		// Remembers the step length so that the keys have the same effect 
+		// regardless of the step duration
+		this.laststeps = steps;
 		
 		// Also implies the turning friction
-		applyTurningFriction();
+		applyTurningFriction(steps);
 		// And the turnboost too
-		addTurnBoost();
+		addTurnBoost(steps);
 		//System.out.println(getDirection());
 	}
 	
@@ -198,6 +210,13 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 		// Does nothing
 	}
 	
+	@Override
+	public void onCollision(double[] colcoordinates, int pointnumber, 
+			Collidable collided)
+	{
+		// Does nothing
+	}
+	
 	@Override
 	public int getWidth()
 	{
@@ -277,8 +296,7 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 	@Override
 	public int getDensity()
 	{
-		return (int) (0.8 * (Material.ALUMINIUMBRONZE.getDensity() + 
-				Material.ALUMINIUM.getDensity()) / 2);
+		return DENSITY;
 	}
 	
 	
@@ -311,15 +329,16 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 		double lastspeed = getMovement().getSpeed();
 		// Adds the boost
 		addMotion(direction, force);
+		double speed = getMovement().getSpeed();
 		// Checks if the car is going too fast and does the necessary repairs
-		if (getMovement().getSpeed() > maxspeed)
+		if (speed > maxspeed)
 		{
 			// If the car was already going too fast, boost only affects direction
-			if (lastspeed < getMovement().getSpeed() && lastspeed > maxspeed)
-				getMovement().setSpeed(lastspeed);
+			if (lastspeed < speed && lastspeed > maxspeed)
+				getMovement().multiply(lastspeed / speed);
 			// Otherwise, caps the speed to the max
 			else
-				getMovement().setSpeed(maxspeed);
+				getMovement().multiply(maxspeed / speed);
 		}
 		
 		// TODO: Rotate the car according to the accelration difference between 
@@ -365,7 +384,7 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 		}
 	}
 	
-	private void applyTurningFriction()
+	private void applyTurningFriction(double steps)
 	{
 		// Sliding affects turningfriction
 		double modifier = 1;
@@ -373,18 +392,24 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 		if (this.sliding)
 			modifier = 1 - this.slidepower;
 		
-		getMovement().diminishSpeed(modifier * getTurningFriction());
+		getMovement().diminishSpeed(modifier * getTurningFriction() * steps);
 	}
 	
 	// Makes the car's direction change when the car is turned
-	private void addTurnBoost()
+	private void addTurnBoost(double steps)
 	{
 		// Calculates the turnboost (a certain amount out of turningfriction)
 		double turnboost = getTurningFriction();
+		
+		// Without any turning friction there's no boost either
+		if (turnboost == 0)
+			return;
+		
 		turnboost *= this.turnrate;
 		
 		// The larger the angledifference (up to 90) the smalller the turnboost
-		turnboost *= HelpMath.getDirectionalForce(getMovement().getDirection(), 1, getAngle());
+		turnboost *= getMovement().getDirectionalSpeed(getAngle()) / 
+				getMovement().getSpeed();
 		
 		/*
 		// If the car is driving backwards, the boost is reversed
@@ -396,7 +421,7 @@ public class Car extends AdvancedPhysicDrawnObject implements listeners.Advanced
 		if (this.sliding)
 			turnboost *= 1 - this.slidepower;
 	
-		addMotion(getAngle(), turnboost);
+		addMotion(getAngle(), turnboost * steps);
 	}
 	
 	private double calculateTurning()
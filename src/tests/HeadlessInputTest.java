@@ -0,0 +1,122 @@
+package tests;
+
+import listeners.AdvancedKeyListener;
+import video.HeadlessRunner;
+
+/**
+ * This test drives a key through the keylistener handlers of a 
+ * headlessrunner. The listener is added only after the game has started, 
+ * when the handlers between it and the runner are already in place.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ */
+public class HeadlessInputTest implements AdvancedKeyListener
+{
+	// ATTRIBUTES	-----------------------------------------------------
+	
+	private int pressed, down, released;
+	private boolean dead;
+	
+	
+	// CONSTRUCTOR	-----------------------------------------------------
+	
+	/**
+	 * Creates a new test listener that hasn't been informed of anything yet
+	 */
+	public HeadlessInputTest()
+	{
+		// Initializes attributes
+		this.pressed = 0;
+		this.down = 0;
+		this.released = 0;
+		this.dead = false;
+	}
+	
+	
+	// IMPLEMENTED METHODS	---------------------------------------------
+	
+	@Override
+	public boolean isActive()
+	{
+		return true;
+	}
+	
+	@Override
+	public boolean activate()
+	{
+		return true;
+	}
+	
+	@Override
+	public boolean inactivate()
+	{
+		return false;
+	}
+	
+	@Override
+	public boolean isDead()
+	{
+		return this.dead;
+	}
+	
+	@Override
+	public boolean kill()
+	{
+		this.dead = true;
+		return true;
+	}
+	
+	@Override
+	public void onKeyDown(char key, int keyCode, boolean coded)
+	{
+		this.down ++;
+	}
+	
+	@Override
+	public void onKeyPressed(char key, int keyCode, boolean coded)
+	{
+		this.pressed ++;
+	}
+	
+	@Override
+	public void onKeyReleased(char key, int keyCode, boolean coded)
+	{
+		this.released ++;
+	}
+	
+	
+	// MAIN METHOD ---------------------------------------------------
+	
+	/**
+	 * Runs the test. The key is pressed for 10 steps and then released, so 
+	 * the listener should be informed of 1 press, 10 steps with the key down 
+	 * and 1 release.
+	 * 
+	 * @param args not used
+	 */
+	public static void main(String[] args)
+	{
+		HeadlessRunner runner = new HeadlessRunner(100, 100, 10);
+		HeadlessInputTest test = new HeadlessInputTest();
+		
+		// The game is already running when the listener is added
+		runner.runSteps(1);
+		runner.addKeyListener(test);
+		
+		runner.pressKey('a', 0, false);
+		runner.runSteps(10);
+		runner.releaseKey('a', 0, false);
+		runner.runSteps(1);
+		runner.kill();
+		
+		System.out.println("Pressed: " + test.pressed + ", down: " + 
+				test.down + ", released: " + test.released);
+		
+		if (test.pressed != 1 || test.down != 10 || test.released != 1)
+		{
+			System.out.println("The key didn't reach the listener correctly");
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package video;
+
+import handlers.DrawableHandler;
+import helpAndEnums.DepthConstants;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import drawnobjects.DrawnObject;
+
+/**
+ * ActiveGamePanel is a panel that draws numerous drawables like the 
+ * gamepanel does. Instead of waiting for Swing to repaint it, the panel is 
+ * drawn directly by the game loop using a buffer strategy. The panel also 
+ * keeps track of how many frames it has presented and how many frames it has 
+ * had to skip.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see video.GameWindow#addActiveGamePanel(ActiveGamePanel, String)
+ */
+public class ActiveGamePanel extends Canvas
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private static final long serialVersionUID = 1L;
+	
+	private int width, height, buffers;
+	private DrawableHandler drawer;
+	private AtomicBoolean rendering;
+	private AtomicLong presentedframes, skippedframes;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new panel with default color being black
+	 * 
+	 * @param width	Panel's width (in pixels)
+	 * @param height Panel's height (in pixels)
+	 * @param buffers How many buffers are used in drawing the panel [2, 3]
+	 */
+	public ActiveGamePanel(int width, int height, int buffers)
+	{
+		// Initializes attributes
+		this.width = width;
+		this.height = height;
+		this.buffers = Math.max(2, Math.min(3, buffers));
+		this.drawer = new DrawableHandler(false, true, DepthConstants.NORMAL, 
+				null);
+		this.rendering = new AtomicBoolean(false);
+		this.presentedframes = new AtomicLong(0);
+		this.skippedframes = new AtomicLong(0);
+		
+		// The panel is drawn by the game, not by the system
+		setIgnoreRepaint(true);
+		setSizes(this.width, this.height);
+		setBackground(new Color(0, 0, 0));
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return The drawablehandler that draws the content of this panel
+	 */
+	public DrawableHandler getDrawer()
+	{
+		return this.drawer;
+	}
+	
+	/**
+	 * @return How many frames the panel has shown on screen
+	 */
+	public long getPresentedFrameNumber()
+	{
+		return this.presentedframes.get();
+	}
+	
+	/**
+	 * @return How many frames the panel couldn't draw because the panel 
+	 * wasn't displayable or because the previous frame was still being drawn
+	 */
+	public long getSkippedFrameNumber()
+	{
+		return this.skippedframes.get();
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Draws the content of the panel and shows it on screen. This should be 
+	 * called by the game loop whenever the screen needs redrawing.
+	 */
+	public void render()
+	{
+		render(1);
+	}
+	
+	/**
+	 * Draws the content of the panel and shows it on screen. This should be 
+	 * called by the game loop whenever the screen needs redrawing.
+	 * 
+	 * @param interpolation How far between their last two published states 
+	 * the objects are drawn [0, 1]
+	 * @see DrawnObject#setInterpolation(Graphics2D, double)
+	 */
+	public void render(double interpolation)
+	{
+		// If the last frame is still being drawn, skips this one
+		if (!this.rendering.compareAndSet(false, true))
+		{
+			this.skippedframes.incrementAndGet();
+			return;
+		}
+		
+		try
+		{
+			BufferStrategy strategy = getStrategy();
+			
+			// The panel can't be drawn before it is shown
+			if (strategy == null)
+			{
+				this.skippedframes.incrementAndGet();
+				return;
+			}
+			
+			// Draws the frame again if the buffers were lost in the process
+			do
+			{
+				do
+				{
+					Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+					
+					try
+					{
+						// Clears the former drawings
+						g2d.setColor(getBackground());
+						g2d.fillRect(0, 0, getWidth(), getHeight());
+						
+						DrawnObject.setInterpolation(g2d, interpolation);
+						this.drawer.drawSelf(g2d);
+					}
+					finally
+					{
+						g2d.dispose();
+					}
+				}
+				while (strategy.contentsRestored());
+				
+				strategy.show();
+			}
+			while (strategy.contentsLost());
+			
+			// Makes sure the frame is shown right away
+			Toolkit.getDefaultToolkit().sync();
+			this.presentedframes.incrementAndGet();
+		}
+		finally
+		{
+			this.rendering.set(false);
+		}
+	}
+	
+	/**
+	 * Changes the size of the game panel.
+	 * 
+	 * @param width	Panel's new width (in pixels)
+	 * @param height Panel's new height (in pixels)
+	 */
+	public void setSizes(int width, int height)
+	{
+		this.setSize(width, height);
+		Dimension preferred = new Dimension(width, height);
+		this.setPreferredSize(preferred);
+		this.setMinimumSize(preferred);
+		this.setMaximumSize(preferred);
+	}
+	
+	/**
+	 * Changes the panel's background color.
+	 * 
+	 * @param red
+	 * @param green
+	 * @param blue
+	 */
+	public void setBackgroundColor(int red, int green, int blue)
+	{
+		this.setBackground(new Color(red, green, blue));
+	}
+	
+	// Returns the buffer strategy, creating it if necessary (null if the 
+	// panel can't be drawn yet)
+	private BufferStrategy getStrategy()
+	{
+		BufferStrategy strategy = getBufferStrategy();
+		
+		if (strategy == null)
+		{
+			if (!isDisplayable())
+				return null;
+			
+			createBufferStrategy(this.buffers);
+			strategy = getBufferStrategy();
+		}
+		
+		return strategy;
+	}
+}
@@ -10,6 +10,8 @@ import java.awt.Graphics2D;
 
 import javax.swing.JPanel;
 
+import drawnobjects.DrawnObject;
+
 /**
  * Gamepanel is a single panel in the gamescreen that draws numerous drawables. 
  * Gamepanels are used in GameWindows
@@ -25,6 +27,8 @@ public class GamePanel extends JPanel
 	private int height;
 	private boolean needsUpdating;
 	private DrawableHandler drawer;
+	// How far between their published states the objects are drawn
+	private volatile double interpolation;
 	
 	
 	// CONSTRUCTOR ---------------------------------------------------------
@@ -43,6 +47,7 @@ public class GamePanel extends JPanel
 		this.needsUpdating = true;
 		this.drawer = new DrawableHandler(false, true, DepthConstants.NORMAL, 
 				null);
+		this.interpolation = 1;
 		
 		//Let's format our panel
 		this.formatPanel();
@@ -66,6 +71,8 @@ public class GamePanel extends JPanel
 			// Clears the former drawings
 			g2d.clearRect(0, 0, getWidth(), getHeight());
 			
+			// The whole frame is drawn at the point it was requested at
+			DrawnObject.setInterpolation(g2d, this.interpolation);
 			this.drawer.drawSelf(g2d);
 		}
 	}
@@ -89,6 +96,19 @@ public class GamePanel extends JPanel
 	 */
 	public void callScreenUpdate()
 	{
+		callScreenUpdate(1);
+	}
+	
+	/**
+	 * This method should be called when the screen needs redrawing
+	 * 
+	 * @param interpolation How far between their last two published states 
+	 * the objects are drawn [0, 1]
+	 * @see DrawnObject#setInterpolation(Graphics2D, double)
+	 */
+	public void callScreenUpdate(double interpolation)
+	{
+		this.interpolation = interpolation;
 		this.needsUpdating = true;
 	}
 	
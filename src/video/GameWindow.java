@@ -16,6 +16,7 @@ import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.util.ArrayList;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.JFrame;
 
@@ -25,7 +26,11 @@ import listeners.AdvancedMouseListener;
 
 /**
  * GameWindow is the main frame of the program in which all the drawing is done. 
- * The window should hold at least one gamepanel.
+ * The window should hold at least one gamepanel.<p>
+ * 
+ * By default the screen is redrawn after each step. Optionally the window 
+ * can use a separate renderer thread that draws the published states of 
+ * the objects at its own pace.
  * 
  * @author Unto Solala & Mikko Hilpinen. Created 8.8.2013
  * @see video.GamePanel
@@ -43,8 +48,10 @@ public class GameWindow extends JFrame
 	private KeyListenerHandler keylistenerhandler;
 	private MouseListenerHandler mouselistenerhandler;
 	private ActorHandler listeneractorhandler;
+	private Renderer renderer;
 	
 	private ArrayList<GamePanel> panels;
+	private ArrayList<ActiveGamePanel> activepanels;
 	
 	
 	// CONSTRUCTOR ---------------------------------------------------------
@@ -62,6 +69,8 @@ public class GameWindow extends JFrame
 		this.width = width;
 		this.height = height;
 		this.panels = new ArrayList<GamePanel>();
+		this.activepanels = new ArrayList<ActiveGamePanel>();
+		this.renderer = null;
 		
 		this.setTitle(title);
 		
@@ -75,7 +84,7 @@ public class GameWindow extends JFrame
 		addKeyListener(new BasicKeyListener());
 		
 		// Creates and initializes important handlers
-		this.stephandler = new StepHandler(15, this);
+		this.stephandler = new StepHandler(StepHandler.STEPLENGTH, this);
 		
 		this.listeneractorhandler = new ActorHandler(false, this.stephandler);
 		this.mainkeyhandler = new MainKeyListenerHandler(this.listeneractorhandler);
@@ -124,6 +133,27 @@ public class GameWindow extends JFrame
 		this.panels.add(newPanel);
 	}
 	
+	/**
+	 * Adds a new ActiveGamePanel to the given direction. The panel is drawn 
+	 * directly by the game loop.
+	 * 
+	 * @param newPanel The ActiveGamePanel you want to add to the window.
+	 * @param direction	The direction where you want to place the panel. (For 
+	 * example Borderlayout.NORTH)
+	 * @see BorderLayout
+	 */
+	public void addActiveGamePanel(ActiveGamePanel newPanel, String direction)
+	{
+		// Checks the arguments
+		if (newPanel == null || direction == null)
+			return;
+		
+		this.add(newPanel, direction);
+		this.activepanels.add(newPanel);
+		// The window may need to be resized to fit the new panel
+		validate();
+	}
+	
 	/**
 	 * Removes a gamepanel from the window
 	 *
@@ -142,6 +172,24 @@ public class GameWindow extends JFrame
 			p.getDrawer().kill();
 	}
 	
+	/**
+	 * Removes an active gamepanel from the window
+	 * 
+	 * @param p The panel to be removed
+	 * @param killContent Should the objects drawn in the panel be killed
+	 */
+	public void removePanel(ActiveGamePanel p, boolean killContent)
+	{
+		if (!this.activepanels.contains(p))
+			return;
+		remove(p);
+		this.activepanels.remove(p);
+		
+		// Kills the content of the panel if needed
+		if (killContent)
+			p.getDrawer().kill();
+	}
+	
 	/**
 	 * Updates mouse's position in the game
 	 */
@@ -152,17 +200,69 @@ public class GameWindow extends JFrame
 	}
 	
 	/**
-	 * This method should be called when the screen needs redrawing
+	 * This method should be called when the screen needs redrawing. If the 
+	 * window uses a separate renderer, the states of the drawn objects are 
+	 * published instead and the renderer redraws the screen.
+	 * 
+	 * @see #startRenderer(int)
 	 */
 	public void callScreenUpdate()
+	{
+		if (this.renderer != null)
+		{
+			// Publishes the new states for the renderer
+			for (int i = 0; i < this.panels.size(); i++)
+			{
+				this.panels.get(i).getDrawer().publishStates();
+			}
+			for (int i = 0; i < this.activepanels.size(); i++)
+			{
+				this.activepanels.get(i).getDrawer().publishStates();
+			}
+			this.renderer.onStatesPublished();
+			return;
+		}
+		
+		updatePanels(1);
+	}
+	
+	/**
+	 * Starts drawing the window in a separate thread. The renderer draws the 
+	 * objects between their two latest states so that the screen can be 
+	 * updated more often than the game logic. Once started, the renderer 
+	 * keeps running as long as the window does.
+	 * 
+	 * @param framerate How many times per second the screen is drawn
+	 */
+	public void startRenderer(int framerate)
+	{
+		if (this.renderer != null || framerate <= 0)
+			return;
+		
+		this.renderer = new Renderer(framerate);
+		
+		Thread renderthread = new Thread(this.renderer);
+		renderthread.setDaemon(true);
+		renderthread.start();
+	}
+	
+	// Redraws all the panels in the window, drawing the objects at the 
+	// given point between their published states
+	private void updatePanels(double interpolation)
 	{
 		// Updates all the panels in the window
 		for (int i = 0; i < this.panels.size(); i++)
 		{
-			this.panels.get(i).callScreenUpdate();
+			this.panels.get(i).callScreenUpdate(interpolation);
 		}
 		// Redraws the screen
 		repaint();
+		
+		// The active panels are drawn right away
+		for (int i = 0; i < this.activepanels.size(); i++)
+		{
+			this.activepanels.get(i).render(interpolation);
+		}
 	}
 	
 	/**
@@ -198,6 +298,92 @@ public class GameWindow extends JFrame
 	
 	// SUBCLASSES	----------------------------------------------------
 	
+	/**
+	 * Main window's helper class, which redraws the screen at a constant 
+	 * rate, using the states published by the logic thread.
+	 * 
+	 * @author Mikko Hilpinen.
+	 *         Created 18.10.2026.
+	 */
+	private class Renderer implements Runnable
+	{
+		// ATTRIBUTES	------------------------------------------------
+		
+		private long framenanos;
+		// The times of the last two publications
+		private volatile long[] publishtimes;
+		
+		
+		// CONSTRUCTOR	------------------------------------------------
+		
+		public Renderer(int framerate)
+		{
+			// Initializes attributes
+			this.framenanos = 1000000000L / framerate;
+			this.publishtimes = null;
+		}
+		
+		
+		// IMPLEMENTED METHODS	----------------------------------------
+		
+		@Override
+		public void run()
+		{
+			long nextframe = System.nanoTime();
+			
+			while (!Thread.currentThread().isInterrupted())
+			{
+				// Waits until the next frame should be drawn
+				long remaining = nextframe - System.nanoTime();
+				if (remaining > 0)
+				{
+					LockSupport.parkNanos(this, remaining);
+					continue;
+				}
+				nextframe += this.framenanos;
+				
+				// Doesn't try to catch up the frames that were missed
+				if (nextframe < System.nanoTime())
+					nextframe = System.nanoTime() + this.framenanos;
+				
+				// Draws the objects between the last two states
+				updatePanels(getInterpolation());
+			}
+		}
+		
+		
+		// OTHER METHODS	--------------------------------------------
+		
+		/**
+		 * Informs the renderer that new states were published
+		 */
+		public void onStatesPublished()
+		{
+			long[] times = this.publishtimes;
+			long now = System.nanoTime();
+			
+			if (times == null)
+				this.publishtimes = new long[] {now, now};
+			else
+				this.publishtimes = new long[] {times[1], now};
+		}
+		
+		// How far between the two last states the objects should be drawn
+		private double getInterpolation()
+		{
+			long[] times = this.publishtimes;
+			
+			if (times == null || times[1] <= times[0])
+				return 1;
+			
+			// The state change is spread over the same time it took
+			double progress = (System.nanoTime() - times[1]) / 
+					(double) (times[1] - times[0]);
+			
+			return Math.min(1, progress);
+		}
+	}
+	
 	/**
 	 * Main window's helper class, which listens to what the mouse does.
 	 * 
@@ -0,0 +1,328 @@
+package video;
+
+import handleds.Actor;
+import handlers.ActorHandler;
+import handlers.DrawableHandler;
+import handlers.HandlerProfiler;
+import handlers.KeyListenerHandler;
+import handlers.MainKeyListenerHandler;
+import handlers.MainMouseListenerHandler;
+import handlers.MouseListenerHandler;
+import handlers.StepHandler;
+import helpAndEnums.DepthConstants;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import listeners.AdvancedKeyListener;
+import listeners.AdvancedMouseListener;
+
+/**
+ * HeadlessRunner runs the game without a window or a display. The steps are 
+ * performed as fast as possible instead of following the clock, which makes 
+ * the runner useful in automated tests, simulations and benchmarks. The 
+ * content can be drawn to an image if needed. Keyboard and mouse input must 
+ * be given through the runner's methods.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see GameWindow
+ */
+public class HeadlessRunner
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private int width, height, renderinterval;
+	private long stepnumber, framenumber, elapsednanos;
+	private double steplength;
+	private Color backgroundcolor;
+	private BufferedImage image;
+	
+	private ActorHandler actorhandler;
+	private DrawableHandler drawer;
+	private MainKeyListenerHandler mainkeyhandler;
+	private MainMouseListenerHandler mainmousehandler;
+	private KeyListenerHandler keylistenerhandler;
+	private MouseListenerHandler mouselistenerhandler;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new headless runner. Nothing is drawn until rendering is 
+	 * called or a render interval is set.
+	 * 
+	 * @param width The width of the drawn image (in pixels)
+	 * @param height The height of the drawn image (in pixels)
+	 * @param stepDuration How long a single simulated step lasts in 
+	 * milliseconds
+	 */
+	public HeadlessRunner(int width, int height, int stepDuration)
+	{
+		// Initializes attributes
+		this.width = width;
+		this.height = height;
+		this.renderinterval = 0;
+		this.stepnumber = 0;
+		this.framenumber = 0;
+		this.elapsednanos = 0;
+		this.steplength = stepDuration / (double) StepHandler.STEPLENGTH;
+		this.backgroundcolor = Color.BLACK;
+		this.image = null;
+		
+		// Creates and initializes important handlers
+		this.actorhandler = new ActorHandler(false, null);
+		this.drawer = new DrawableHandler(false, true, DepthConstants.NORMAL, 
+				null);
+		
+		this.mainkeyhandler = new MainKeyListenerHandler(this.actorhandler);
+		this.mainmousehandler = new MainMouseListenerHandler(this.actorhandler);
+		
+		this.keylistenerhandler = new KeyListenerHandler(false, null);
+		this.mouselistenerhandler = new MouseListenerHandler(false, 
+				this.actorhandler, null);
+		
+		this.mainkeyhandler.addListener(this.keylistenerhandler);
+		this.mainmousehandler.addMouseListener(this.mouselistenerhandler);
+	}
+	
+	
+	// GETTERS & SETTERS	----------------------------------------------
+	
+	/**
+	 * @return The drawablehandler that draws the content of the runner
+	 */
+	public DrawableHandler getDrawer()
+	{
+		return this.drawer;
+	}
+	
+	/**
+	 * @return The actorhandler that is called at each step
+	 */
+	public ActorHandler getActorHandler()
+	{
+		return this.actorhandler;
+	}
+	
+	/**
+	 * @return How many steps have been performed so far
+	 */
+	public long getStepNumber()
+	{
+		return this.stepnumber;
+	}
+	
+	/**
+	 * @return How many frames have been drawn so far
+	 */
+	public long getFrameNumber()
+	{
+		return this.framenumber;
+	}
+	
+	/**
+	 * @return How much time running the steps and drawing the frames has 
+	 * taken so far (nanoseconds)
+	 */
+	public long getElapsedNanos()
+	{
+		return this.elapsednanos;
+	}
+	
+	/**
+	 * @return How much game time has passed so far (milliseconds)
+	 */
+	public double getSimulatedMillis()
+	{
+		return this.stepnumber * this.steplength * StepHandler.STEPLENGTH;
+	}
+	
+	/**
+	 * @return How many steps have been performed per second on average
+	 */
+	public double getStepsPerSecond()
+	{
+		if (this.elapsednanos == 0)
+			return 0;
+		
+		return this.stepnumber / (this.elapsednanos / 1000000000.0);
+	}
+	
+	/**
+	 * Changes how often the content is drawn while running the steps
+	 * 
+	 * @param renderinterval After how many steps the content is drawn 
+	 * (0 or less if the content shouldn't be drawn automatically (default))
+	 */
+	public void setRenderInterval(int renderinterval)
+	{
+		this.renderinterval = renderinterval;
+	}
+	
+	/**
+	 * Changes the color with which the image is cleared before drawing
+	 * 
+	 * @param color The new background color
+	 */
+	public void setBackgroundColor(Color color)
+	{
+		if (color != null)
+			this.backgroundcolor = color;
+	}
+	
+	/**
+	 * @return The image the content was last drawn to (null if the content 
+	 * hasn't been drawn yet)
+	 */
+	public BufferedImage getImage()
+	{
+		return this.image;
+	}
+	
+	
+	// OTHER METHODS	--------------------------------------------------
+	
+	/**
+	 * Performs the given number of steps as fast as possible. Stops early if 
+	 * the runner is killed.
+	 * 
+	 * @param steps How many steps are performed
+	 */
+	public void runSteps(int steps)
+	{
+		long start = System.nanoTime();
+		
+		for (int i = 0; i < steps; i++)
+		{
+			if (this.actorhandler.isDead())
+				break;
+			
+			this.actorhandler.act(this.steplength);
+			this.stepnumber ++;
+			
+			// Draws the content if needed
+			if (this.renderinterval > 0 && 
+					this.stepnumber % this.renderinterval == 0)
+				drawImage();
+			
+			HandlerProfiler profiler = HandlerProfiler.getActiveProfiler();
+			if (profiler != null)
+				profiler.endStep();
+		}
+		
+		this.elapsednanos += System.nanoTime() - start;
+	}
+	
+	/**
+	 * Draws the current content of the runner into an image
+	 * 
+	 * @return The image the content was drawn to. The same image is reused 
+	 * each time the content is drawn.
+	 */
+	public BufferedImage render()
+	{
+		long start = System.nanoTime();
+		drawImage();
+		this.elapsednanos += System.nanoTime() - start;
+		
+		return this.image;
+	}
+	
+	/**
+	 * Kills the content of the runner. The runner can't be used afterwards.
+	 */
+	public void kill()
+	{
+		this.actorhandler.kill();
+		this.drawer.kill();
+	}
+	
+	/**
+	 * Adds a new actor to the informed actors
+	 * 
+	 * @param a The actor that will be informed about steps
+	 */
+	public void addActor(Actor a)
+	{
+		this.actorhandler.addActor(a);
+	}
+	
+	/**
+	 * Adds a keylistener to the informed listeners
+	 * 
+	 * @param k The keylistener that will be informed
+	 */
+	public void addKeyListener(AdvancedKeyListener k)
+	{
+		this.keylistenerhandler.addKeyListener(k);
+	}
+	
+	/**
+	 * Adds a new mouselistener to the informed listeners
+	 * 
+	 * @param m The mouselistener that will be informed
+	 */
+	public void addMouseListener(AdvancedMouseListener m)
+	{
+		this.mouselistenerhandler.addMouseListener(m);
+	}
+	
+	/**
+	 * Presses a key down. The key stays down until it is released.
+	 * 
+	 * @param key The key that was pressed
+	 * @param keyCode The key's keycode
+	 * @param coded Does the key use its keycode
+	 */
+	public void pressKey(char key, int keyCode, boolean coded)
+	{
+		this.mainkeyhandler.onKeyPressed(key, keyCode, coded);
+	}
+	
+	/**
+	 * Releases a key that was pressed earlier
+	 * 
+	 * @param key The key that was released
+	 * @param keyCode The key's keycode
+	 * @param coded Does the key use its keycode
+	 */
+	public void releaseKey(char key, int keyCode, boolean coded)
+	{
+		this.mainkeyhandler.onKeyReleased(key, keyCode, coded);
+	}
+	
+	/**
+	 * Changes the mouse's position and button status
+	 * 
+	 * @param mouseX Mouse's new x-coordinate
+	 * @param mouseY Mouse's new y-coordinate
+	 * @param mousePressed Is a mouse button pressed
+	 * @param mouseButton Which mouse button is pressed
+	 */
+	public void setMouseStatus(int mouseX, int mouseY, boolean mousePressed, 
+			int mouseButton)
+	{
+		this.mainmousehandler.setMouseStatus(mouseX, mouseY, mousePressed, 
+				mouseButton);
+	}
+	
+	private void drawImage()
+	{
+		if (this.image == null)
+			this.image = new BufferedImage(this.width, this.height, 
+					BufferedImage.TYPE_INT_RGB);
+		
+		Graphics2D g2d = this.image.createGraphics();
+		
+		// Clears the former drawings
+		g2d.setColor(this.backgroundcolor);
+		g2d.fillRect(0, 0, this.width, this.height);
+		
+		this.drawer.drawSelf(g2d);
+		g2d.dispose();
+		
+		this.framenumber ++;
+	}
+}
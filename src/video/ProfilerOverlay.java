@@ -0,0 +1,85 @@
+package video;
+
+import handlers.DrawableHandler;
+import handlers.HandlerProfiler;
+import helpAndEnums.DepthConstants;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+
+import drawnobjects.DrawnObject;
+
+/**
+ * ProfilerOverlay draws the measurements of the active handlerprofiler on 
+ * the screen. Each line shows a single node of the measurement tree with 
+ * the mean, median, 95th and 99th percentiles and the maximum time used per 
+ * step in milliseconds.
+ *
+ * @author Mikko Hilpinen.
+ *         Created 18.10.2026.
+ * @see HandlerProfiler
+ */
+public class ProfilerOverlay extends DrawnObject
+{
+	// ATTRIBUTES	------------------------------------------------------
+	
+	private int lineheight;
+	
+	
+	// CONSTRUCTOR	------------------------------------------------------
+	
+	/**
+	 * Creates a new overlay to the given position
+	 * 
+	 * @param x The x-coordinate of the overlay's top left corner
+	 * @param y The y-coordinate of the overlay's top left corner
+	 * @param drawer The drawablehandler that will draw the overlay
+	 */
+	public ProfilerOverlay(int x, int y, DrawableHandler drawer)
+	{
+		super(x, y, DepthConstants.TOP, drawer);
+		
+		// Initializes attributes
+		this.lineheight = 15;
+	}
+	
+	
+	// IMPLEMENTED METHODS	----------------------------------------------
+	
+	@Override
+	public int getOriginX()
+	{
+		return 0;
+	}
+	
+	@Override
+	public int getOriginY()
+	{
+		return 0;
+	}
+	
+	@Override
+	public void drawSelfBasic(Graphics2D g2d)
+	{
+		HandlerProfiler profiler = HandlerProfiler.getActiveProfiler();
+		
+		g2d.setColor(Color.WHITE);
+		
+		// Only draws the measurements if profiling is on
+		if (profiler == null)
+		{
+			g2d.drawString("Profiling is off", 0, this.lineheight);
+			return;
+		}
+		
+		g2d.drawString("mean / p50 / p95 / p99 / max (ms)", 0, 
+				this.lineheight);
+		
+		ArrayList<String> lines = profiler.getReport();
+		for (int i = 0; i < lines.size(); i++)
+		{
+			g2d.drawString(lines.get(i), 0, (i + 2) * this.lineheight);
+		}
+	}
+}
@@ -68,11 +68,61 @@ public class DimensionalRoom extends TiledRoom implements Collidable
 			ArrayList<Background> backgrounds, 
 			ArrayList<SpriteBank> tiletexturebanks,
 			ArrayList<String> tiletexturenames)
+	{
+		this(x, y, drawer, animator, collidablehandler, width, height, xtiles, 
+				ytiles, bankindexes, rotations, xscales, yscales, nameindexes, 
+				null, null, backgrounds, tiletexturebanks, tiletexturenames);
+	}
+	
+	/**
+	 * Creates a new dimensionalroom with the given size to the given position. 
+	 * A new tilemap is also created into the room using the given information. 
+	 * Each tile in the map has its own solidity and material so that walls 
+	 * and different grounds can be told apart. The room has the given 
+	 * background(s). The room is inctive until started
+	 * 
+	 * @param x The room's x-coordinate (in pixels)
+	 * @param y The room's y-coordinate (in pixels)
+	 * @param drawer The drawableHandler that will draw the contents of the room
+	 * @param animator The actorhandler that will animate the background(s) and tiles 
+	 * in the room (optional)
+	 * @param collidablehandler The collidableHandler that will handle the room's 
+	 * collision checking (optional)
+	 * @param width The width of the room (in pixels)
+	 * @param height The height of the room (in pixels)
+	 * @param xtiles How many tiles the room has horizontally (>= 0)
+	 * @param ytiles How many tiles the room has vertically (>= 0)
+	 * @param bankindexes A table telling which index for a spritebank is 
+	 * used in which tile
+	 * @param rotations A table telling how much each tile is rotated
+	 * @param xscales A table telling how the tiles are flipped around the x-axis
+	 * @param yscales A table telling how the tiles are flipped around the y-axis
+	 * @param nameindexes A table telling which index is used for each tile to 
+	 * find their spritename in a spritebank
+	 * @param solidities A table telling which tiles are solid (null if the 
+	 * whole room should be solid)
+	 * @param materials A table telling which material each tile is made of 
+	 * (null if the tiles have no materials)
+	 * @param backgrounds The background(s) used in the room
+	 * @param tiletexturebanks A list of spritebanks containing the textures used in tiles
+	 * @param tiletexturenames A list of names of the tiletextures
+	 * @see worlds.Room#start()
+	 * @see worlds.Room#end()
+	 */
+	public DimensionalRoom(int x, int y, DrawableHandler drawer, 
+			ActorHandler animator, CollidableHandler collidablehandler, 
+			int width, int height, int xtiles, int ytiles, 
+			short[] bankindexes, short[] rotations, short[] xscales, 
+			short[] yscales, short[] nameindexes, boolean[] solidities, 
+			short[] materials, ArrayList<Background> backgrounds, 
+			ArrayList<SpriteBank> tiletexturebanks, 
+			ArrayList<String> tiletexturenames)
 	{
 		super(backgrounds, new TileMap(x, y, drawer, animator, 
 				collidablehandler, xtiles, ytiles, width / xtiles, 
 				height / ytiles, bankindexes, rotations, xscales, yscales, 
-				nameindexes), tiletexturebanks, tiletexturenames);
+				nameindexes, solidities, materials), tiletexturebanks, 
+				tiletexturenames);
 		
 		// Initializes attributes
 		this.width = width;
@@ -148,6 +198,20 @@ public class DimensionalRoom extends TiledRoom implements Collidable
 	
 	// OTHER METHODS	--------------------------------------------------
 	
+	/**
+	 * Tells which material is at the given point in the room
+	 * 
+	 * @param x The absolute x-coordinate of the point
+	 * @param y The absolute y-coordinate of the point
+	 * @return The material of the tile at the point or -1 if the point is 
+	 * outside the room or the tiles have no materials
+	 * @see TileMap#getMaterial(int, int)
+	 */
+	public short getMaterial(int x, int y)
+	{
+		return getTiles().getMaterial(x, y);
+	}
+	
 	/**
 	 * Transforms coordinates relative to room's position into absolute coordinates.
 	 *
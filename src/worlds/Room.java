@@ -25,7 +25,7 @@ import backgrounds.Background;
  * @author Mikko Hilpinen.
  *         Created 11.7.2013.
  */
-public class Room extends Handler
+public class Room extends Handler<GameObject>
 {	
 	// ATTRIBUTES	-----------------------------------------------------
 	
@@ -198,6 +198,8 @@ public class Room extends Handler
 				b.getSpriteDrawer().activate();
 			}
 		}
+		// Applies the added and removed objects first
+		removeDeadHandleds();
 		// Activates all the objects and sets them visible (if applicable)
 		for (int i = 0; i < getHandledNumber(); i++)
 		{
@@ -229,6 +231,8 @@ public class Room extends Handler
 					b.getSpriteDrawer().inactivate();
 			}
 		}
+		// Applies the added and removed objects first
+		removeDeadHandleds();
 		// InActivates all the objects and sets them invisible (if applicable)
 		for (int i = 0; i < getHandledNumber(); i++)
 		{